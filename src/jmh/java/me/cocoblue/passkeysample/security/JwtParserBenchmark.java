@@ -0,0 +1,82 @@
+package me.cocoblue.passkeysample.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Jwts.SIG;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 인증된 요청 1건에서 Access Token 을 처리하는 비용을 비교하는 벤치마크
+ * gc profiler 의 gc.alloc.rate.norm 값이 요청당 할당량이다.
+ *
+ * <ul>
+ *   <li>before: Filter 에서 검증, Filter 에서 ID 추출, Controller 에서 ID 추출 (매번 Parser 생성, 3회 파싱)</li>
+ *   <li>after: 미리 만들어 둔 Parser 로 1회 파싱 후 VerifiedToken 전달</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParserBenchmark {
+
+  private PublicKey publicKey;
+  private JwtParser prebuiltParser;
+  private String token;
+
+  @Setup
+  public void setUp() throws Exception {
+    final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    final KeyPair keyPair = generator.generateKeyPair();
+
+    publicKey = keyPair.getPublic();
+    prebuiltParser = Jwts.parser().verifyWith(publicKey).build();
+    token = Jwts.builder()
+        .subject(UUID.randomUUID().toString())
+        .issuedAt(new Date())
+        .expiration(new Date(System.currentTimeMillis() + 3_600_000L))
+        .signWith(keyPair.getPrivate(), SIG.RS256)
+        .compact();
+  }
+
+  @Benchmark
+  public void beforePerRequest(final Blackhole blackhole) {
+    // JwtTokenFilter.validateToken
+    blackhole.consume(Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(token));
+    // JwtTokenFilter.getAuthenticationFromToken
+    blackhole.consume(Jwts.parser().verifyWith(publicKey).build()
+        .parseSignedClaims(token).getPayload().getSubject());
+    // Controller 의 getUserIdFromAccessToken
+    blackhole.consume(Jwts.parser().verifyWith(publicKey).build()
+        .parseSignedClaims(token).getPayload().getSubject());
+  }
+
+  @Benchmark
+  public VerifiedToken afterPerRequest() {
+    return VerifiedToken.from(prebuiltParser.parseSignedClaims(token).getPayload());
+  }
+
+  @Benchmark
+  public JwtParser parserConstructionOnly() {
+    return Jwts.parser().verifyWith(publicKey).build();
+  }
+}
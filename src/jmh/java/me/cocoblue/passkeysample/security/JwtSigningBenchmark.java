@@ -0,0 +1,63 @@
+package me.cocoblue.passkeysample.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 서명 알고리즘 별로 토큰 발급(서명)과 검증 비용을 비교하는 벤치마크
+ * 로그인, 토큰 갱신은 Access Token 과 Refresh Token 을 한 번씩 서명한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+  @Param({"RS256", "ES256", "ED25519"})
+  private JwtSigningAlgorithm algorithm;
+
+  private KeyPair keyPair;
+  private JwtParser parser;
+  private String token;
+  private String subject;
+
+  @Setup
+  public void setUp() {
+    keyPair = algorithm.getAlgorithm().keyPair().build();
+    parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+    subject = UUID.randomUUID().toString();
+    token = sign();
+  }
+
+  @Benchmark
+  public String sign() {
+    return Jwts.builder()
+        .subject(subject)
+        .issuedAt(new Date())
+        .expiration(new Date(System.currentTimeMillis() + 3_600_000L))
+        .signWith(keyPair.getPrivate(), algorithm.getAlgorithm())
+        .compact();
+  }
+
+  @Benchmark
+  public Object verify() {
+    return parser.parseSignedClaims(token).getPayload();
+  }
+}
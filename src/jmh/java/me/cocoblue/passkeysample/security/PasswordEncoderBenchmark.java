@@ -0,0 +1,62 @@
+package me.cocoblue.passkeysample.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 로그인 1회의 비밀번호 검증 비용을 알고리즘, 비용별로 비교하는 벤치마크
+ * 서버에서 바로 추천 값을 보려면 APP_PASSWORD_CALIBRATION_ENABLED=true 로 실행한다.
+ *
+ * @see PasswordEncoderCostCalibrator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+  private static final String PASSWORD = "benchmark-Sample-Passw0rd!";
+
+  @Param({"10", "11", "12"})
+  private int bcryptStrength;
+
+  @Param({"1", "2", "3"})
+  private int argon2Iterations;
+
+  private BCryptPasswordEncoder bcrypt;
+  private String bcryptHash;
+  private Argon2PasswordEncoder argon2;
+  private String argon2Hash;
+
+  @Setup
+  public void setUp() {
+    bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+    bcryptHash = bcrypt.encode(PASSWORD);
+    // 기본 설정 (19 MiB, 병렬 1) 에서 반복 횟수만 변경
+    argon2 = new Argon2PasswordEncoder(16, 32, 1, 19456, argon2Iterations);
+    argon2Hash = argon2.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean bcryptMatches() {
+    return bcrypt.matches(PASSWORD, bcryptHash);
+  }
+
+  @Benchmark
+  public boolean argon2Matches() {
+    return argon2.matches(PASSWORD, argon2Hash);
+  }
+}
@@ -0,0 +1,15 @@
+package me.cocoblue.passkeysample.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 서버 간 Cache 무효화 메시지를 전달하는 Bus
+ * Redis Pub/Sub, Kafka 등으로 구현하여 Bean 으로 등록하면 기본 구현인 InMemoryCacheInvalidationBus 대신 사용된다.
+ * 전달은 최선 노력(best-effort)이어도 되며, 놓친 메시지는 Local Cache 의 짧은 만료 시간으로 보완한다.
+ */
+public interface CacheInvalidationBus {
+
+  void publish(CacheInvalidationMessage message);
+
+  void subscribe(Consumer<CacheInvalidationMessage> listener);
+}
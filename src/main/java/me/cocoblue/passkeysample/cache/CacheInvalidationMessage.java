@@ -0,0 +1,15 @@
+package me.cocoblue.passkeysample.cache;
+
+/**
+ * 다른 서버의 Local Cache 항목을 무효화하기 위한 메시지
+ *
+ * @param nodeId    메시지를 보낸 서버의 ID (자신이 보낸 메시지는 무시)
+ * @param cacheName Cache 이름
+ * @param key       무효화할 키. null 이면 Cache 전체
+ */
+public record CacheInvalidationMessage(String nodeId, String cacheName, Object key) {
+
+  public boolean isClear() {
+    return key == null;
+  }
+}
@@ -0,0 +1,31 @@
+package me.cocoblue.passkeysample.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 같은 JVM 안의 구독자에게 메시지를 바로 전달하는 CacheInvalidationBus
+ * 여러 TwoTierCacheManager 가 같은 Bus 를 구독하면, 여러 서버가 떠 있는 상황을 한 JVM 에서 재현할 수 있다.
+ */
+@Log4j2
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+  private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(final CacheInvalidationMessage message) {
+    for (Consumer<CacheInvalidationMessage> listener : listeners) {
+      try {
+        listener.accept(message);
+      } catch (RuntimeException ex) {
+        log.warn("Cache invalidation listener failed. cache: {}", message.cacheName(), ex);
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(final Consumer<CacheInvalidationMessage> listener) {
+    listeners.add(listener);
+  }
+}
@@ -0,0 +1,48 @@
+package me.cocoblue.passkeysample.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * JVM 안에서만 공유되는 SharedCacheStore
+ * 단일 서버로 실행하거나, 여러 TwoTierCacheManager 를 한 JVM 에 띄워 테스트할 때 사용한다.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+  private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+  private final Function<String, String> specResolver;
+
+  /**
+   * @param specResolver Cache 이름 별 Caffeine Spec
+   */
+  public InMemorySharedCacheStore(final Function<String, String> specResolver) {
+    this.specResolver = specResolver;
+  }
+
+  @Override
+  public Object get(final String cacheName, final Object key) {
+    return cache(cacheName).getIfPresent(key);
+  }
+
+  @Override
+  public void put(final String cacheName, final Object key, final Object value) {
+    cache(cacheName).put(key, value);
+  }
+
+  @Override
+  public void evict(final String cacheName, final Object key) {
+    cache(cacheName).invalidate(key);
+  }
+
+  @Override
+  public void clear(final String cacheName) {
+    cache(cacheName).invalidateAll();
+  }
+
+  private Cache<Object, Object> cache(final String cacheName) {
+    return caches.computeIfAbsent(cacheName,
+        name -> Caffeine.from(specResolver.apply(name)).build());
+  }
+}
@@ -0,0 +1,19 @@
+package me.cocoblue.passkeysample.cache;
+
+/**
+ * 여러 서버가 함께 사용하는 공유 Cache 저장소 (TwoTierCache 의 2차 Cache)
+ * Redis, Memcached 등으로 구현하여 Bean 으로 등록하면 기본 구현인 InMemorySharedCacheStore 대신 사용된다.
+ */
+public interface SharedCacheStore {
+
+  /**
+   * @return 저장된 값. 없으면 null
+   */
+  Object get(String cacheName, Object key);
+
+  void put(String cacheName, Object key, Object value);
+
+  void evict(String cacheName, Object key);
+
+  void clear(String cacheName);
+}
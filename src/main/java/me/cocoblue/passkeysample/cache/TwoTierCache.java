@@ -0,0 +1,115 @@
+package me.cocoblue.passkeysample.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.concurrent.Callable;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Local Caffeine Cache (1차) 와 SharedCacheStore (2차) 로 구성된 Cache
+ *
+ * <ul>
+ *   <li>조회: Local → Shared 순으로 찾고, Shared 에서 찾은 값은 Local 에 채운다.</li>
+ *   <li>저장, 삭제: Shared 에 반영한 뒤, 다른 서버의 Local 항목을 무효화하도록 Bus 로 알린다.</li>
+ * </ul>
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+  private final String name;
+  private final String nodeId;
+  private final Cache<Object, Object> localCache;
+  private final SharedCacheStore sharedStore;
+  private final CacheInvalidationBus invalidationBus;
+
+  public TwoTierCache(final String name, final String nodeId, final Cache<Object, Object> localCache,
+      final SharedCacheStore sharedStore, final CacheInvalidationBus invalidationBus) {
+    super(false);
+    this.name = name;
+    this.nodeId = nodeId;
+    this.localCache = localCache;
+    this.sharedStore = sharedStore;
+    this.invalidationBus = invalidationBus;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return localCache;
+  }
+
+  /** Metric 수집용 Local Cache */
+  public Cache<Object, Object> getLocalCache() {
+    return localCache;
+  }
+
+  @Override
+  protected Object lookup(final Object key) {
+    final Object local = localCache.getIfPresent(key);
+    if (local != null) {
+      return local;
+    }
+
+    final Object shared = sharedStore.get(name, key);
+    if (shared != null) {
+      localCache.put(key, shared);
+    }
+    return shared;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(final Object key, final Callable<T> valueLoader) {
+    final Object cached = lookup(key);
+    if (cached != null) {
+      return (T) fromStoreValue(cached);
+    }
+
+    final T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception ex) {
+      throw new ValueRetrievalException(key, valueLoader, ex);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(final Object key, final Object value) {
+    final Object storeValue = toStoreValue(value);
+    sharedStore.put(name, key, storeValue);
+    localCache.put(key, storeValue);
+    invalidationBus.publish(new CacheInvalidationMessage(nodeId, name, key));
+  }
+
+  @Override
+  public void evict(final Object key) {
+    sharedStore.evict(name, key);
+    localCache.invalidate(key);
+    invalidationBus.publish(new CacheInvalidationMessage(nodeId, name, key));
+  }
+
+  @Override
+  public void clear() {
+    sharedStore.clear(name);
+    localCache.invalidateAll();
+    invalidationBus.publish(new CacheInvalidationMessage(nodeId, name, null));
+  }
+
+  /**
+   * 다른 서버에서 보낸 무효화 메시지를 Local Cache 에 반영하는 메서드
+   */
+  void onInvalidation(final CacheInvalidationMessage message) {
+    if (nodeId.equals(message.nodeId())) {
+      return;
+    }
+
+    if (message.isClear()) {
+      localCache.invalidateAll();
+    } else {
+      localCache.invalidate(message.key());
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package me.cocoblue.passkeysample.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+/**
+ * 여러 서버에서 실행할 때 사용하는 TwoTierCache 의 CacheManager
+ * 생성 시 무효화 Bus 를 구독하며, 서버마다 임의의 nodeId 를 가진다.
+ */
+@Log4j2
+public class TwoTierCacheManager extends AbstractCacheManager {
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Map<String, TwoTierCache> caches = new LinkedHashMap<>();
+
+  /**
+   * @param cacheNames      등록할 Cache 이름
+   * @param localSpec       Local Cache 의 Caffeine Spec
+   * @param sharedStore     공유 Cache 저장소
+   * @param invalidationBus 서버 간 무효화 Bus
+   */
+  public TwoTierCacheManager(final Collection<String> cacheNames, final String localSpec,
+      final SharedCacheStore sharedStore, final CacheInvalidationBus invalidationBus) {
+    for (String cacheName : cacheNames) {
+      caches.put(cacheName, new TwoTierCache(cacheName, nodeId,
+          Caffeine.from(localSpec).recordStats().build(), sharedStore, invalidationBus));
+    }
+
+    invalidationBus.subscribe(message -> {
+      final TwoTierCache cache = caches.get(message.cacheName());
+      if (cache != null) {
+        cache.onInvalidation(message);
+      }
+    });
+    log.info("Two-tier cache manager started. nodeId: {}, caches: {}", nodeId, caches.keySet());
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  @Override
+  protected Collection<? extends Cache> loadCaches() {
+    return caches.values();
+  }
+}
@@ -0,0 +1,37 @@
+package me.cocoblue.passkeysample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 비동기 작업 Executor 설정 (app.async)
+ *
+ * @param retryInterval 재시도 Queue 에 보관된 작업을 다시 제출하는 주기 (밀리초)
+ * @param s3PartUpload  S3 Multipart Upload 의 Part 업로드 (s3PartUploadExecutor)
+ * @param thumbnail     썸네일 생성 (thumbnailExecutor)
+ * @param delete        S3 삭제 (deleteExecutor)
+ */
+@ConfigurationProperties(prefix = "app.async")
+public record AppAsyncProperties(
+    @DefaultValue("1000") long retryInterval,
+    @DefaultValue Executor s3PartUpload,
+    @DefaultValue Executor thumbnail,
+    @DefaultValue Executor delete) {
+
+  /**
+   * @param corePoolSize       기본 Thread 수
+   * @param maxPoolSize        Queue 가 가득 찼을 때 늘릴 수 있는 최대 Thread 수
+   * @param queueCapacity      대기 Queue 크기
+   * @param rejectionPolicy    Thread 와 Queue 가 모두 가득 찼을 때의 처리 방식
+   * @param retryQueueCapacity RETRY_QUEUE 방식의 재시도 Queue 크기. 가득 차면 거절
+   * @param concurrencyLimit   가상 스레드 사용 시 동시 실행 수 (Pool 설정 대신 사용)
+   */
+  public record Executor(
+      @DefaultValue("5") int corePoolSize,
+      @DefaultValue("10") int maxPoolSize,
+      @DefaultValue("20") int queueCapacity,
+      @DefaultValue("CALLER_RUNS") AsyncRejectionPolicy rejectionPolicy,
+      @DefaultValue("1000") int retryQueueCapacity,
+      @DefaultValue("10") int concurrencyLimit) {
+  }
+}
@@ -0,0 +1,33 @@
+package me.cocoblue.passkeysample.config;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cache 별 Caffeine 설정 (app.cache)
+ * 값은 Caffeine Spec 형식이다. (예: maximumSize=10000,expireAfterWrite=10m)
+ *
+ * @param defaultSpec specs 에 없는 Cache 에 적용할 Spec
+ * @param specs       Cache 이름 별 Spec
+ * @param cluster     여러 서버에서 실행할 때의 2단계 Cache 설정
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record AppCacheProperties(
+    @DefaultValue("maximumSize=10000,expireAfterWrite=10m") String defaultSpec,
+    @DefaultValue Map<String, String> specs,
+    @DefaultValue Cluster cluster) {
+
+  /**
+   * @param enabled   true 이면 Local Cache 와 공유 Cache 로 구성된 TwoTierCacheManager 사용
+   * @param localSpec 각 서버의 Local Cache Spec. 무효화 메시지를 놓쳐도 오래된 값이 남지 않도록 짧게 유지
+   */
+  public record Cluster(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("maximumSize=1000,expireAfterWrite=30s") String localSpec) {
+  }
+
+  public String specFor(final String cacheName) {
+    return specs.getOrDefault(cacheName, defaultSpec);
+  }
+}
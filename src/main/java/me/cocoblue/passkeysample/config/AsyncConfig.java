@@ -1,42 +1,159 @@
 package me.cocoblue.passkeysample.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+@Log4j2
 @Configuration
 @EnableAsync
-public class AsyncConfig {
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AppAsyncProperties.class)
+public class AsyncConfig implements SchedulingConfigurer {
+  private final AppAsyncProperties asyncProperties;
+  private final MeterRegistry meterRegistry;
+  // spring.threads.virtual.enabled 가 true 이고 Java 21 이상일 때만 가상 스레드를 사용 (Java 17 이면 Thread Pool 사용)
+  private final Environment environment;
 
-  @Bean("s3UploadExecutor")
-  public Executor s3Executor() {
-    return new ThreadPoolTaskExecutor() {{
-      setCorePoolSize(10);
-      setMaxPoolSize(50);
-      setQueueCapacity(100);
-      setThreadNamePrefix("S3-Upload-");
-    }};
+  // Thread Pool 을 사용하는 Executor 와 거절 처리기 (Metric 등록, 재시도 Queue 처리에 사용)
+  private final Map<String, PooledExecutor> pooledExecutors = new ConcurrentHashMap<>();
+
+  private record PooledExecutor(ThreadPoolTaskExecutor executor,
+                                BackpressureRejectedExecutionHandler rejectionHandler) {
+  }
+
+  /**
+   * Multipart Upload 의 Part 를 병렬로 올리는 Executor
+   * 동시에 올라가는 Part 수는 S3MultipartUploader 의 Buffer 수로도 제한된다.
+   *
+   * @see me.cocoblue.passkeysample.service.common.S3MultipartUploader
+   */
+  @Bean("s3PartUploadExecutor")
+  public Executor s3PartUploadExecutor() {
+    return executor("s3PartUploadExecutor", "S3-Part-", asyncProperties.s3PartUpload());
   }
 
   @Bean("thumbnailExecutor")
   public Executor thumbnailExecutor() {
-    return new ThreadPoolTaskExecutor() {{
-      setCorePoolSize(5);
-      setMaxPoolSize(10);
-      setQueueCapacity(20);
-      setThreadNamePrefix("Thumbnail-");
-    }};
+    return executor("thumbnailExecutor", "Thumbnail-", asyncProperties.thumbnail());
+  }
+
+  /**
+   * 비밀번호 Hashing (BCrypt) 전용 Executor
+   * CPU 를 많이 쓰는 작업이라 요청 Thread 와 분리하고, Queue 가 가득 차면 기다리지 않고 바로 거절한다.
+   * 가상 스레드를 사용해도 CPU 작업은 빨라지지 않으므로, 항상 고정 크기 Pool 을 사용한다.
+   *
+   * @see me.cocoblue.passkeysample.service.auth.PasswordHashingService
+   */
+  @Bean("passwordHashingExecutor")
+  public ThreadPoolTaskExecutor passwordHashingExecutor(
+      @Value("${app.security.password-hashing.pool-size:0}") int poolSize,
+      @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+    // 0 이면 CPU 수만큼 (Hashing 은 CPU 작업이라 그 이상 늘려도 빨라지지 않음)
+    final int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("PasswordHashing-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    return executor;
   }
 
   @Bean("deleteExecutor")
   public Executor deleteExecutor() {
-    return new ThreadPoolTaskExecutor() {{
-      setCorePoolSize(5);
-      setMaxPoolSize(10);
-      setQueueCapacity(20);
-      setThreadNamePrefix("DeleteS3-");
-    }};
+    return executor("deleteExecutor", "DeleteS3-", asyncProperties.delete());
+  }
+
+  /**
+   * app.async 설정으로 Executor 를 만드는 메서드
+   * 가상 스레드를 사용하면 Pool 없이 동시 실행 수만 제한하고, 아니면 설정한 거절 방식을 가진 Thread Pool 을 만든다.
+   */
+  private Executor executor(String beanName, String threadNamePrefix, AppAsyncProperties.Executor properties) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return virtualThreadExecutor(threadNamePrefix, properties.concurrencyLimit());
+    }
+
+    final BackpressureRejectedExecutionHandler rejectionHandler = new BackpressureRejectedExecutionHandler(
+        beanName, properties.rejectionPolicy(), properties.retryQueueCapacity(), meterRegistry);
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.corePoolSize());
+    executor.setMaxPoolSize(properties.maxPoolSize());
+    executor.setQueueCapacity(properties.queueCapacity());
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setRejectedExecutionHandler(rejectionHandler);
+    // 종료 시 Queue 에 남은 작업을 최대한 끝내고 종료
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    pooledExecutors.put(beanName, new PooledExecutor(executor, rejectionHandler));
+
+    log.info("Executor '{}': core={}, max={}, queue={}, rejection={}", beanName, properties.corePoolSize(),
+        properties.maxPoolSize(), properties.queueCapacity(), properties.rejectionPolicy());
+    return executor;
+  }
+
+  /**
+   * 작업마다 가상 스레드를 만드는 Executor (Java 21 이상)
+   * Pool, Queue 가 없으므로 TaskRejectedException 이 발생하지 않으며,
+   * 동시 실행 수가 concurrencyLimit 에 도달하면 제출한 쪽이 Permit 을 얻을 때까지 기다린다.
+   * (S3, DB 의 Connection 수를 넘지 않도록 하는 Semaphore 역할)
+   */
+  private Executor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+    log.info("Executor '{}' runs on virtual threads. concurrency limit: {}", threadNamePrefix, concurrencyLimit);
+    final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+    executor.setVirtualThreads(true);
+    executor.setConcurrencyLimit(concurrencyLimit);
+    return executor;
+  }
+
+  /**
+   * Thread Pool 이 만들어진 뒤 (afterPropertiesSet 이후) Metric 을 등록
+   * executor.active, executor.queued, executor.completed, executor.pool.size 등이 name 태그로 노출된다.
+   */
+  @EventListener(ContextRefreshedEvent.class)
+  public void bindExecutorMetrics() {
+    pooledExecutors.forEach((name, pooled) -> new ExecutorServiceMetrics(
+        pooled.executor().getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry));
+  }
+
+  /**
+   * 재시도 Queue 처리 주기는 바인딩된 AppAsyncProperties.retryInterval 을 사용
+   */
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    taskRegistrar.addFixedDelayTask(this::drainRetryQueues, Duration.ofMillis(asyncProperties.retryInterval()));
+  }
+
+  /**
+   * RETRY_QUEUE 방식으로 보관된 작업을 Executor 에 여유가 생긴 만큼 다시 제출
+   */
+  private void drainRetryQueues() {
+    pooledExecutors.forEach((name, pooled) -> {
+      final ThreadPoolExecutor threadPoolExecutor = pooled.executor().getThreadPoolExecutor();
+      final int resubmitted = pooled.rejectionHandler().drainTo(threadPoolExecutor);
+      if (resubmitted > 0) {
+        log.info("Resubmitted {} queued tasks to executor '{}'.", resubmitted, name);
+      }
+    });
   }
 }
@@ -0,0 +1,15 @@
+package me.cocoblue.passkeysample.config;
+
+/**
+ * Executor 의 Thread 와 Queue 가 모두 가득 찼을 때 새 작업을 처리하는 방식
+ *
+ * @see BackpressureRejectedExecutionHandler
+ */
+public enum AsyncRejectionPolicy {
+  // 작업을 제출한 Thread 에서 바로 실행 (제출 속도가 자연스럽게 느려짐)
+  CALLER_RUNS,
+  // 별도의 재시도 Queue 에 보관했다가, Executor 에 여유가 생기면 다시 제출
+  RETRY_QUEUE,
+  // 바로 TaskRejectedException 을 던짐
+  FAIL_FAST
+}
@@ -0,0 +1,106 @@
+package me.cocoblue.passkeysample.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * AsyncRejectionPolicy 에 따라 거절된 작업을 처리하고, 처리 결과를 Metric 으로 남기는 RejectedExecutionHandler
+ * RETRY_QUEUE 방식의 작업은 메모리에만 보관하므로, 서버가 종료되면 남아있는 작업은 사라진다.
+ *
+ * <p>Metric: executor.rejected (name, outcome = caller_runs / retry_queued / dropped),
+ * executor.retry.queued (재시도 Queue 에 남아있는 작업 수)</p>
+ */
+@Log4j2
+public class BackpressureRejectedExecutionHandler implements RejectedExecutionHandler {
+  private final String executorName;
+  private final AsyncRejectionPolicy policy;
+  private final BlockingQueue<Runnable> retryQueue;
+  private final Counter callerRuns;
+  private final Counter retryQueued;
+  private final Counter dropped;
+
+  public BackpressureRejectedExecutionHandler(String executorName, AsyncRejectionPolicy policy,
+      int retryQueueCapacity, MeterRegistry meterRegistry) {
+    this.executorName = executorName;
+    this.policy = policy;
+    this.retryQueue = new ArrayBlockingQueue<>(Math.max(1, retryQueueCapacity));
+    this.callerRuns = rejectedCounter(meterRegistry, "caller_runs");
+    this.retryQueued = rejectedCounter(meterRegistry, "retry_queued");
+    this.dropped = rejectedCounter(meterRegistry, "dropped");
+    Gauge.builder("executor.retry.queued", retryQueue, BlockingQueue::size)
+        .description("Rejected tasks waiting in the retry queue")
+        .tag("name", executorName)
+        .register(meterRegistry);
+  }
+
+  private Counter rejectedCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("executor.rejected")
+        .description("Tasks rejected because the executor's threads and queue were full")
+        .tag("name", executorName)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      dropped.increment();
+      throw new RejectedExecutionException("Executor '" + executorName + "' is shut down");
+    }
+
+    switch (policy) {
+      case CALLER_RUNS -> {
+        callerRuns.increment();
+        task.run();
+      }
+      case RETRY_QUEUE -> {
+        if (retryQueue.offer(task)) {
+          retryQueued.increment();
+          log.warn("Executor '{}' is saturated. Task queued for retry. pending: {}",
+              executorName, retryQueue.size());
+          return;
+        }
+        dropped.increment();
+        throw new RejectedExecutionException(
+            "Executor '" + executorName + "' and its retry queue are full");
+      }
+      case FAIL_FAST -> {
+        dropped.increment();
+        throw new RejectedExecutionException("Executor '" + executorName + "' is saturated");
+      }
+    }
+  }
+
+  /**
+   * 재시도 Queue 의 작업을 Executor 의 Queue 에 여유가 있는 만큼 다시 제출하는 메서드
+   *
+   * @return 다시 제출한 작업 수
+   */
+  public int drainTo(ThreadPoolExecutor executor) {
+    int resubmitted = 0;
+    while (executor.getQueue().remainingCapacity() > 0) {
+      final Runnable task = retryQueue.poll();
+      if (task == null) {
+        break;
+      }
+      // Executor 의 Queue 에 직접 넣어 다시 거절되지 않도록 함 (여유 공간은 위에서 확인)
+      if (!executor.getQueue().offer(task)) {
+        retryQueue.offer(task);
+        break;
+      }
+      resubmitted++;
+    }
+    // Thread 가 모두 종료된 상태라면 Queue 의 작업을 처리할 Thread 를 시작
+    if (resubmitted > 0) {
+      executor.prestartCoreThread();
+    }
+    return resubmitted;
+  }
+}
@@ -0,0 +1,57 @@
+package me.cocoblue.passkeysample.config;
+
+import me.cocoblue.passkeysample.cache.CacheInvalidationBus;
+import me.cocoblue.passkeysample.cache.InMemoryCacheInvalidationBus;
+import me.cocoblue.passkeysample.cache.InMemorySharedCacheStore;
+import me.cocoblue.passkeysample.cache.SharedCacheStore;
+import me.cocoblue.passkeysample.cache.TwoTierCache;
+import me.cocoblue.passkeysample.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 여러 서버에서 실행할 때의 Cache 설정 (app.cache.cluster.enabled=true)
+ * 각 서버는 Local Cache 를 가지며, 값 변경은 SharedCacheStore 에 반영한 뒤 CacheInvalidationBus 로
+ * 다른 서버의 Local 항목을 무효화한다.
+ * SharedCacheStore, CacheInvalidationBus Bean 을 따로 등록하지 않으면 JVM 내부 구현을 사용한다.
+ */
+@Log4j2
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.cluster", name = "enabled", havingValue = "true")
+public class CacheClusterConfig {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public SharedCacheStore sharedCacheStore(AppCacheProperties cacheProperties) {
+    log.warn("No SharedCacheStore bean found. Falling back to the in-memory store, which is not shared between nodes.");
+    return new InMemorySharedCacheStore(cacheProperties::specFor);
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public CacheInvalidationBus cacheInvalidationBus() {
+    log.warn("No CacheInvalidationBus bean found. Falling back to the in-memory bus, which only reaches this node.");
+    return new InMemoryCacheInvalidationBus();
+  }
+
+  @Bean
+  public CacheManager cacheManager(AppCacheProperties cacheProperties,
+      SharedCacheStore sharedCacheStore, CacheInvalidationBus cacheInvalidationBus) {
+    return new TwoTierCacheManager(CacheConfig.cacheNames(cacheProperties),
+        cacheProperties.cluster().localSpec(), sharedCacheStore, cacheInvalidationBus);
+  }
+
+  /**
+   * Actuator 가 TwoTierCache 의 Local Cache 통계를 cache.* Metric 으로 노출하도록 등록
+   */
+  @Bean
+  public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+    return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocalCache(), cache.getName(), tags);
+  }
+}
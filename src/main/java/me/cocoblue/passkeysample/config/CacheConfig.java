@@ -1,24 +1,60 @@
 package me.cocoblue.passkeysample.config;
 
+import me.cocoblue.passkeysample.security.PassKeyCustomUserCredentialRepository;
+import me.cocoblue.passkeysample.service.auth.CustomUserDetailsService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Log4j2
 @EnableCaching
 @Configuration
+@EnableConfigurationProperties(AppCacheProperties.class)
 public class CacheConfig {
+  private static final List<String> CACHE_NAMES = List.of(
+      "users", "users_api_resp", "email_check_result", "profile_users", "revoked_tokens",
+      PassKeyCustomUserCredentialRepository.CREDENTIAL_CACHE_NAME,
+      PassKeyCustomUserCredentialRepository.DESCRIPTOR_CACHE_NAME,
+      CustomUserDetailsService.USER_SNAPSHOT_CACHE_NAME
+  );
+
+  /**
+   * 기본 Cache 이름과 app.cache.specs 에 설정된 Cache 이름
+   */
+  static Set<String> cacheNames(AppCacheProperties cacheProperties) {
+    Set<String> cacheNames = new LinkedHashSet<>(CACHE_NAMES);
+    cacheNames.addAll(cacheProperties.specs().keySet());
+    return cacheNames;
+  }
+
+  /**
+   * Cache 마다 최대 크기와 만료 시간을 따로 지정할 수 있는 Caffeine CacheManager
+   * Caffeine 은 W-TinyLFU 로 자주 쓰이는 항목을 남기며, recordStats 로 수집한 통계는
+   * Actuator 가 cache.gets, cache.evictions, cache.size 등의 Metric 으로 노출한다.
+   */
   @Bean
-  public CacheManager cacheManager() {
-    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+  @ConditionalOnProperty(prefix = "app.cache.cluster", name = "enabled", havingValue = "false", matchIfMissing = true)
+  public CacheManager cacheManager(AppCacheProperties cacheProperties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    // registerCustomCache 보다 먼저 설정해야 등록되는 Cache 에도 적용됨
     cacheManager.setAllowNullValues(false);
-    cacheManager.setCacheNames(
-        List.of(
-        "users", "users_api_resp", "email_check_result", "profile_users", "revoked_tokens"
-        )
-    );
+    // 등록되지 않은 이름의 Cache 는 만들지 않음 (오타로 크기 제한 없는 Cache 가 생기는 것을 방지)
+    cacheManager.setCacheNames(List.of());
+
+    for (String cacheName : cacheNames(cacheProperties)) {
+      String spec = cacheProperties.specFor(cacheName);
+      cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build());
+      log.info("Cache '{}' registered with spec: {}", cacheName, spec);
+    }
 
     return cacheManager;
   }
@@ -0,0 +1,58 @@
+package me.cocoblue.passkeysample.config;
+
+import java.util.Locale;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 비밀번호 Hashing 알고리즘과 비용 설정 (app.security.password-encoder)
+ * 새로 저장하는 비밀번호는 algorithm 으로 Hashing 하고, 기존 비밀번호는 저장된 형식으로 검증한다.
+ * 로그인 시 저장된 Hash 가 현재 설정보다 약하면 다시 Hashing 하여 저장한다.
+ *
+ * @param algorithm   새 비밀번호에 사용할 알고리즘 (bcrypt, argon2)
+ * @param bcrypt      BCrypt 설정
+ * @param argon2      Argon2id 설정
+ * @param calibration 서버 시작 시 목표 시간에 맞는 비용을 측정하는 설정
+ */
+@ConfigurationProperties(prefix = "app.security.password-encoder")
+public record PasswordEncoderProperties(
+    @DefaultValue("bcrypt") String algorithm,
+    @DefaultValue Bcrypt bcrypt,
+    @DefaultValue Argon2 argon2,
+    @DefaultValue Calibration calibration) {
+
+  /**
+   * @param strength log2 반복 횟수 (4 ~ 31). 1 올릴 때마다 시간이 2배
+   */
+  public record Bcrypt(@DefaultValue("10") int strength) {
+  }
+
+  /**
+   * @param saltLength  Salt 길이 (byte)
+   * @param hashLength  Hash 길이 (byte)
+   * @param parallelism 병렬 Lane 수
+   * @param memory      사용할 메모리 (KiB)
+   * @param iterations  반복 횟수
+   */
+  public record Argon2(
+      @DefaultValue("16") int saltLength,
+      @DefaultValue("32") int hashLength,
+      @DefaultValue("1") int parallelism,
+      @DefaultValue("19456") int memory,
+      @DefaultValue("2") int iterations) {
+  }
+
+  /**
+   * @param enabled      true 이면 서버 시작 시 비용별 Hashing 시간을 측정하고 추천 값을 로그로 남김
+   * @param targetMillis 로그인 1회의 Hashing 목표 시간 (밀리초)
+   */
+  public record Calibration(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("250") long targetMillis) {
+  }
+
+  /** DelegatingPasswordEncoder 의 "{id}" 접두어 */
+  public String encodingId() {
+    return algorithm.trim().toLowerCase(Locale.ROOT);
+  }
+}
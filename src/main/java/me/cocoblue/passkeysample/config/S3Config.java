@@ -5,11 +5,26 @@ import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import me.cocoblue.passkeysample.storage.AmazonS3StorageClient;
+import me.cocoblue.passkeysample.storage.LocalFileStorageClient;
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import me.cocoblue.passkeysample.storage.ObjectStorageClientType;
+import me.cocoblue.passkeysample.storage.S3AsyncStorageClient;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 
 @Log4j2
 @Configuration
@@ -30,6 +45,23 @@ public class S3Config {
   @Value("${app.s3.enable-path-style-access:true}")
   private String enablePathStyleAccessString;
 
+  @Value("${app.s3.bucket-name:}")
+  private String bucketName;
+
+  @Value("${app.s3.client:SDK_V1}")
+  private ObjectStorageClientType clientType;
+
+  // ASYNC Client 의 Connection Pool 크기 (동시에 보낼 수 있는 요청 수)
+  @Value("${app.s3.async.max-concurrency:64}")
+  private int asyncMaxConcurrency;
+
+  @Value("${app.s3.async.connection-acquisition-timeout:10000}")
+  private long asyncConnectionAcquisitionTimeout;
+
+  // LOCAL Client 가 파일을 저장할 디렉토리
+  @Value("${app.s3.local.directory:./storage}")
+  private String localDirectory;
+
   @Bean
   public AmazonS3 amazonS3Client() {
     // 필수 프로퍼티 체크
@@ -48,6 +80,45 @@ public class S3Config {
         .build();
   }
 
+  /**
+   * S3Service 가 사용하는 ObjectStorageClient
+   * app.s3.client 가 ASYNC 이면 S3AsyncClient (Netty NIO), SDK_V1 이면 기존 AmazonS3 를 Executor 에서 실행한다.
+   * MinIO, LocalStack 등 S3 호환 서버도 endpoint 와 path-style 설정으로 사용할 수 있다.
+   * LOCAL 이면 S3 설정 없이 로컬 디스크에 저장한다.
+   */
+  @Bean
+  public ObjectStorageClient objectStorageClient(
+      @Qualifier("s3PartUploadExecutor") Executor uploadExecutor,
+      @Qualifier("deleteExecutor") Executor deleteExecutor) {
+    if (clientType == ObjectStorageClientType.LOCAL) {
+      log.info("Object storage client: {}", clientType);
+      return new LocalFileStorageClient(Path.of(localDirectory), uploadExecutor, deleteExecutor);
+    }
+
+    if (!isS3Configured()) {
+      return null;
+    }
+
+    log.info("Object storage client: {}", clientType);
+    if (clientType == ObjectStorageClientType.ASYNC) {
+      return new S3AsyncStorageClient(s3AsyncClient(), bucketName);
+    }
+    return new AmazonS3StorageClient(amazonS3Client(), bucketName, uploadExecutor, deleteExecutor);
+  }
+
+  private S3AsyncClient s3AsyncClient() {
+    return S3AsyncClient.builder()
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create(accessKey, secretKey)))
+        .endpointOverride(URI.create(endpoint))
+        .region(Region.of(region))
+        .forcePathStyle(Boolean.parseBoolean(enablePathStyleAccessString))
+        .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+            .maxConcurrency(asyncMaxConcurrency)
+            .connectionAcquisitionTimeout(Duration.ofMillis(asyncConnectionAcquisitionTimeout)))
+        .build();
+  }
+
   private boolean isS3Configured() {
     log.debug("Checking Amazon S3 configuration");
 
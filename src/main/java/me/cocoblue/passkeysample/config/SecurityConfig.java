@@ -1,16 +1,27 @@
 package me.cocoblue.passkeysample.config;
 
+import me.cocoblue.passkeysample.config.PasswordEncoderProperties.Argon2;
 import me.cocoblue.passkeysample.domain.auth.PasskeyRecordsRepository;
 import me.cocoblue.passkeysample.domain.auth.PasskeyUserRepository;
 import me.cocoblue.passkeysample.domain.user.UserRepository;
 import me.cocoblue.passkeysample.security.JwtTokenFilter;
 import me.cocoblue.passkeysample.security.PassKeyCustomUserCredentialRepository;
 import me.cocoblue.passkeysample.security.PassKeyPublicKeyCredentialUserEntityRepository;
+import me.cocoblue.passkeysample.security.PasskeyStorageMode;
+import me.cocoblue.passkeysample.security.PasskeyUsageWriteBehindBuffer;
+import me.cocoblue.passkeysample.security.StoreBackedCreationOptionsRepository;
+import me.cocoblue.passkeysample.security.StoreBackedRequestOptionsRepository;
+import me.cocoblue.passkeysample.security.WebAuthnSuccessHandler;
 import me.cocoblue.passkeysample.service.auth.CustomUserDetailsService;
+import jakarta.servlet.Filter;
+import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -22,14 +33,22 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.webauthn.authentication.PublicKeyCredentialRequestOptionsFilter;
+import org.springframework.security.web.webauthn.authentication.WebAuthnAuthenticationFilter;
 import org.springframework.security.web.webauthn.management.PublicKeyCredentialUserEntityRepository;
 import org.springframework.security.web.webauthn.management.UserCredentialRepository;
+import org.springframework.security.web.webauthn.registration.PublicKeyCredentialCreationOptionsFilter;
+import org.springframework.security.web.webauthn.registration.WebAuthnRegistrationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -38,20 +57,48 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@EnableConfigurationProperties(PasswordEncoderProperties.class)
 public class SecurityConfig {
   private final JwtTokenFilter jwtTokenFilter;
   private final CustomUserDetailsService userDetailsService;
 
   @Value("${app.base-url}")
   private String baseUrl;
+  // true (기본값) 이면 /login/webauthn 에서 세션 없이 바로 JWT 를 발급 (/api/auth/login/passkey 를 거치지 않음)
+  @Value("${app.webauthn.stateless-login:true}")
+  private boolean webAuthnStatelessLogin;
 
+  /**
+   * app.security.password-encoder.algorithm 으로 새 비밀번호를 Hashing 하는 DelegatingPasswordEncoder
+   * 저장된 Hash 는 "{bcrypt}", "{argon2}" 접두어로 알고리즘을 구분하며,
+   * 접두어가 없는 기존 Hash 는 BCrypt 로 검증한다. (upgradeEncoding 이 true 가 되어 로그인 시 다시 저장됨)
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(PasswordEncoderProperties properties) {
+    final Argon2 argon2 = properties.argon2();
+    final Map<String, PasswordEncoder> encoders = Map.of(
+        "bcrypt", new BCryptPasswordEncoder(properties.bcrypt().strength()),
+        "argon2", new Argon2PasswordEncoder(argon2.saltLength(), argon2.hashLength(),
+            argon2.parallelism(), argon2.memory(), argon2.iterations())
+    );
+    if (!encoders.containsKey(properties.encodingId())) {
+      throw new IllegalStateException("지원되지 않는 비밀번호 알고리즘입니다: " + properties.algorithm());
+    }
+
+    final DelegatingPasswordEncoder passwordEncoder =
+        new DelegatingPasswordEncoder(properties.encodingId(), encoders);
+    passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+    log.info("Password encoder: {}", properties.encodingId());
+    return passwordEncoder;
   }
 
+  /**
+   * 세션에 저장한 패스키 인증 결과로 JWT 를 발급하는 이전 방식 (/login/webauthn → /api/auth/login/passkey) 용 Filter Chain
+   * app.webauthn.stateless-login 이 false 일 때만 등록하며, 이전 Frontend 가 모두 바뀌면 제거한다.
+   */
   @Bean
   @Order(1)
+  @ConditionalOnProperty(prefix = "app.webauthn", name = "stateless-login", havingValue = "false")
   public SecurityFilterChain sessionEnabledFilterChain(HttpSecurity http) throws Exception {
     http
         .securityMatcher("/api/auth/login/passkey") // 세션을 사용할 URL 패턴
@@ -68,12 +115,16 @@ public class SecurityConfig {
 
   @Bean
   @Order(2)
-  public SecurityFilterChain statelessFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain statelessFilterChain(HttpSecurity http,
+      StoreBackedRequestOptionsRepository requestOptionsRepository,
+      StoreBackedCreationOptionsRepository creationOptionsRepository,
+      WebAuthnSuccessHandler webAuthnSuccessHandler) throws Exception {
     http
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .csrf(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(auth -> auth
-            .requestMatchers("/webauthn/**", "/api/user/**", "/api/auth/**", "/api/agent/job/**").permitAll()
+            .requestMatchers("/webauthn/**", "/api/user/**", "/api/auth/**", "/api/agent/job/**",
+                "/.well-known/jwks.json", "/files/**").permitAll()
             .anyRequest().authenticated()
         )
         .sessionManagement(session -> session
@@ -93,7 +144,37 @@ public class SecurityConfig {
         )
         .formLogin(AbstractHttpConfigurer::disable);
 
-    return http.build();
+    DefaultSecurityFilterChain filterChain = http.build();
+    configureWebAuthnFilters(filterChain, requestOptionsRepository, creationOptionsRepository,
+        webAuthnSuccessHandler);
+    return filterChain;
+  }
+
+  /**
+   * WebAuthnConfigurer 가 Options Repository 설정을 제공하지 않으므로, 생성된 Filter 에 직접 설정한다.
+   * Options 를 HttpSession 대신 WebAuthnOptionsStore 에 보관하여, Sticky Session 없이 여러 서버에서 동작하도록 한다.
+   */
+  private void configureWebAuthnFilters(DefaultSecurityFilterChain filterChain,
+      StoreBackedRequestOptionsRepository requestOptionsRepository,
+      StoreBackedCreationOptionsRepository creationOptionsRepository,
+      WebAuthnSuccessHandler webAuthnSuccessHandler) {
+    for (Filter filter : filterChain.getFilters()) {
+      if (filter instanceof PublicKeyCredentialRequestOptionsFilter requestOptionsFilter) {
+        requestOptionsFilter.setRequestOptionsRepository(requestOptionsRepository);
+      } else if (filter instanceof WebAuthnAuthenticationFilter authenticationFilter) {
+        authenticationFilter.setRequestOptionsRepository(requestOptionsRepository);
+        if (webAuthnStatelessLogin) {
+          // 인증 결과를 세션에 저장하지 않고, 바로 JWT 를 발급
+          authenticationFilter.setSecurityContextRepository(new RequestAttributeSecurityContextRepository());
+          authenticationFilter.setAuthenticationSuccessHandler(webAuthnSuccessHandler);
+        }
+      } else if (filter instanceof PublicKeyCredentialCreationOptionsFilter creationOptionsFilter) {
+        creationOptionsFilter.setCreationOptionsRepository(creationOptionsRepository);
+      } else if (filter instanceof WebAuthnRegistrationFilter registrationFilter) {
+        registrationFilter.setCreationOptionsRepository(creationOptionsRepository);
+      }
+    }
+    log.info("WebAuthn options are kept in the options store. Stateless login: {}", webAuthnStatelessLogin);
   }
 
   @Bean
@@ -111,8 +192,12 @@ public class SecurityConfig {
 
   @Bean
   UserCredentialRepository userCredentialRepository(
-      PasskeyRecordsRepository passkeyRecordsRepository) {
-    return new PassKeyCustomUserCredentialRepository(passkeyRecordsRepository);
+      PasskeyRecordsRepository passkeyRecordsRepository,
+      PasskeyUsageWriteBehindBuffer passkeyUsageWriteBehindBuffer,
+      CacheManager cacheManager,
+      @Value("${app.passkey.storage-mode:TEXT}") PasskeyStorageMode storageMode) {
+    return new PassKeyCustomUserCredentialRepository(passkeyRecordsRepository,
+        passkeyUsageWriteBehindBuffer, cacheManager, storageMode);
   }
 
   @Bean
@@ -0,0 +1,85 @@
+package me.cocoblue.passkeysample.config;
+
+import me.cocoblue.passkeysample.security.InMemoryWebAuthnOptionsStore;
+import me.cocoblue.passkeysample.security.StoreBackedCreationOptionsRepository;
+import me.cocoblue.passkeysample.security.StoreBackedRequestOptionsRepository;
+import me.cocoblue.passkeysample.security.WebAuthnOptionsStore;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * WebAuthn Options (Challenge) 저장소 설정
+ * Spring Security 의 기본 구현은 Options 를 HttpSession 에 보관하므로, 서버가 여러 대이면 Sticky Session 이 필요하다.
+ * 여기서는 Options 를 WebAuthnOptionsStore 에 보관하고, 서명된 Cookie 로 위치만 전달한다.
+ */
+@Log4j2
+@Configuration
+public class WebAuthnConfig {
+
+  @Value("${app.webauthn.options-store.secret:}")
+  private String optionsStoreSecret;
+  // true 이면 서버가 한 대라고 보고, secret 이 없을 때 서버 시작 시 임의의 값을 사용
+  @Value("${app.webauthn.options-store.single-node:false}")
+  private boolean singleNode;
+  @Value("${app.webauthn.options-store.ttl:300000}")
+  private Long optionsTtl;
+  @Value("${app.webauthn.options-store.maximum-size:100000}")
+  private long optionsStoreMaximumSize;
+
+  private byte[] handleSecret;
+  private WebAuthnOptionsStore optionsStore;
+
+  @Bean
+  public StoreBackedRequestOptionsRepository requestOptionsRepository(
+      ObjectProvider<WebAuthnOptionsStore> storeProvider) {
+    return new StoreBackedRequestOptionsRepository(optionsStore(storeProvider), handleSecret(),
+        Duration.ofMillis(optionsTtl));
+  }
+
+  @Bean
+  public StoreBackedCreationOptionsRepository creationOptionsRepository(
+      ObjectProvider<WebAuthnOptionsStore> storeProvider) {
+    return new StoreBackedCreationOptionsRepository(optionsStore(storeProvider), handleSecret(),
+        Duration.ofMillis(optionsTtl));
+  }
+
+  /**
+   * WebAuthnOptionsStore Bean 이 등록되어 있으면 그것을 사용하고, 없으면 메모리 저장소를 만든다.
+   * (일반 @Configuration 의 @ConditionalOnMissingBean 은 Bean 등록 순서에 따라 결과가 달라지므로 사용하지 않음)
+   * 두 Repository 가 같은 저장소를 사용하도록 한 번만 만든다.
+   */
+  private synchronized WebAuthnOptionsStore optionsStore(ObjectProvider<WebAuthnOptionsStore> storeProvider) {
+    if (optionsStore == null) {
+      optionsStore = storeProvider.getIfAvailable(
+          () -> new InMemoryWebAuthnOptionsStore(optionsStoreMaximumSize));
+      log.info("WebAuthn options store: {}", optionsStore.getClass().getSimpleName());
+    }
+    return optionsStore;
+  }
+
+  private synchronized byte[] handleSecret() {
+    if (handleSecret != null) {
+      return handleSecret;
+    }
+
+    if (StringUtils.hasText(optionsStoreSecret)) {
+      handleSecret = optionsStoreSecret.getBytes(StandardCharsets.UTF_8);
+    } else if (singleNode) {
+      // 서버마다 다른 값이 되므로, 다른 서버가 발급한 Cookie 는 검증할 수 없음
+      log.warn("app.webauthn.options-store.secret is not set. Using a random secret for this single-node instance.");
+      handleSecret = new byte[32];
+      new SecureRandom().nextBytes(handleSecret);
+    } else {
+      throw new IllegalStateException("app.webauthn.options-store.secret must be set. "
+          + "Set app.webauthn.options-store.single-node=true to use a random secret on a single server.");
+    }
+    return handleSecret;
+  }
+}
@@ -5,6 +5,7 @@ import me.cocoblue.passkeysample.dto.ApiResultCode;
 import me.cocoblue.passkeysample.dto.auth.AuthResp;
 import me.cocoblue.passkeysample.dto.auth.LoginReq;
 import me.cocoblue.passkeysample.exception.auth.MissingRefreshTokenException;
+import me.cocoblue.passkeysample.security.LoginAttemptLimiter;
 import me.cocoblue.passkeysample.service.auth.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -17,6 +18,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.web.bind.annotation.CookieValue;
@@ -31,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthController {
   private final AuthService authService;
+  private final LoginAttemptLimiter loginAttemptLimiter;
 
   @Value("${app.jwt.expiration.refresh}")
   private Long jwtRefreshTokenExpirationTime;
@@ -38,9 +42,12 @@ public class AuthController {
   /** 로그인 API */
   @PostMapping("/login")
   public ResponseEntity<ApiResponse<AuthResp>> login(@Valid @RequestBody final LoginReq requestDto,
-      HttpServletResponse response) {
+      HttpServletRequest request, HttpServletResponse response) {
     log.debug("login request for email: {}", requestDto.email());
+    // 사용자 조회, 비밀번호 Hashing 전에 시도 횟수를 먼저 확인
+    loginAttemptLimiter.acquire(requestDto.email(), request.getRemoteAddr());
     final AuthResp responseDto = this.authService.login(requestDto);
+    loginAttemptLimiter.reset(requestDto.email());
 
     // Refresh Token은 Cookie에 저장하여 관리
     final ResponseCookie refreshTokenCookie = ResponseCookie.from("refreshToken", responseDto.refreshToken())
@@ -109,8 +116,16 @@ public class AuthController {
       HttpServletResponse response
   ) {
     log.debug("login by passkey request received.");
-    log.debug("Security Context: {}", securityContext.getAuthentication().toString());
-    String email = securityContext.getAuthentication().getName();
+    // stateless-login 이면 세션에 인증 결과가 없으므로 (이미 /login/webauthn 에서 JWT 를 발급함) 거절
+    final Authentication authentication = securityContext.getAuthentication();
+    if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+        || !authentication.isAuthenticated()) {
+      return ResponseEntity
+          .status(HttpStatus.UNAUTHORIZED)
+          .build();
+    }
+    log.debug("Security Context: {}", authentication);
+    String email = authentication.getName();
     final AuthResp responseDto = this.authService.loginByPassKey(email);
 
     // Access Token 을 발급하면, 세션 인증은 필요하지 않음.
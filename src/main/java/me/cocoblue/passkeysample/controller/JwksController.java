@@ -0,0 +1,37 @@
+package me.cocoblue.passkeysample.controller;
+
+import me.cocoblue.passkeysample.security.JwtKey;
+import me.cocoblue.passkeysample.security.JwtTokenProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Access Token 검증용 공개 키를 JWKS (RFC 7517) 형식으로 제공하는 Controller
+ * 다른 서비스는 이 응답의 kid 로 키를 찾아 Access Token 을 직접 검증할 수 있다.
+ */
+@Log4j2
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+  private final JwtTokenProvider jwtTokenProvider;
+
+  @GetMapping("/.well-known/jwks.json")
+  public ResponseEntity<Map<String, Object>> fetchJwks() {
+    final List<Object> keys = jwtTokenProvider.getAccessVerificationKeys().stream()
+        .map(JwtKey::toPublicJwk)
+        .map(Object.class::cast)
+        .toList();
+
+    return ResponseEntity
+        .ok()
+        .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+        .body(Map.of("keys", keys));
+  }
+}
@@ -6,7 +6,7 @@ import me.cocoblue.passkeysample.dto.profile.CheckCurrentPasswordMatchReq;
 import me.cocoblue.passkeysample.dto.profile.CheckCurrentPasswordMatchResp;
 import me.cocoblue.passkeysample.dto.profile.UpdatePasswordReq;
 import me.cocoblue.passkeysample.dto.profile.UpdateProfileReq;
-import me.cocoblue.passkeysample.security.JwtTokenProvider;
+import me.cocoblue.passkeysample.security.VerifiedToken;
 import me.cocoblue.passkeysample.service.auth.ProfileService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -20,8 +20,8 @@ import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
@@ -32,22 +32,21 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/profile")
 @RequiredArgsConstructor
 public class ProfileController {
-  private final JwtTokenProvider jwtTokenProvider;
   private final ProfileService profileService;
 
   /**
    * 비밀번호를 변경하기 전 현재 비밀번호와 일치하는지 확인하는 메서드
    *
-   * @param accessToken JWT 토큰
+   * @param verifiedToken JwtTokenFilter 에서 검증된 JWT 토큰
    * @param request     현재 비밀번호 확인 요청
    * @return 현재 비밀번호와 일치하는지 여부
    */
   @PostMapping("/password")
   public ResponseEntity<ApiResponse<CheckCurrentPasswordMatchResp>> checkMatchWithCurrentPassword(
-      @RequestHeader("Authorization") String accessToken,
+      @RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken verifiedToken,
       @Valid @RequestBody CheckCurrentPasswordMatchReq request,
       HttpServletResponse response) {
-    final String userId = this.jwtTokenProvider.getUserIdFromAccessToken(accessToken.substring(7));
+    final String userId = verifiedToken.subject();
     final ResponseEntity<ApiResponse<CheckCurrentPasswordMatchResp>> apiResponse = this.profileService.checkMatchWithCurrentPassword(request.inputPassword(), userId);
 
     if(apiResponse.getBody() != null && apiResponse.getBody().data() != null && apiResponse.getBody().data().isMatch()) {
@@ -68,18 +67,18 @@ public class ProfileController {
   /**
    * 비밀번호 변경 요청
    *
-   * @param accessToken JWT 토큰
+   * @param verifiedToken JwtTokenFilter 에서 검증된 JWT 토큰
    * @param passwordChangeAuthorizationToken 비밀번호 변경 인가 코드
    * @param request    변경할 비밀번호
    * @return 비밀번호 변경 결과
    */
   @PutMapping("/password")
   public ResponseEntity<ApiResponse<?>> updatePassword(
-      @RequestHeader("Authorization") String accessToken,
+      @RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken verifiedToken,
       @CookieValue(name = "passwordChangeAuthorizationToken", required = false) String passwordChangeAuthorizationToken,
       @Valid @RequestBody UpdatePasswordReq request,
       HttpServletResponse response) {
-    final String userId = this.jwtTokenProvider.getUserIdFromAccessToken(accessToken.substring(7));
+    final String userId = verifiedToken.subject();
 
     // 인가 코드가 없는 경우, 비밀번호 변경 요청을 거부
     if(passwordChangeAuthorizationToken == null) {
@@ -126,12 +125,12 @@ public class ProfileController {
   /**
    * Profile 수정을 위해서 로그인한 사용자의 Profile 정보를 가져오는 메서드
    *
-   * @param accessToken JWT 토큰
+   * @param verifiedToken JwtTokenFilter 에서 검증된 JWT 토큰
    * @return Profile 정보
    */
   @GetMapping({"", "/"})
-  public ResponseEntity<ApiResponse<?>> fetchProfile(@RequestHeader("Authorization") String accessToken) {
-    final String userId = this.jwtTokenProvider.getUserIdFromAccessToken(accessToken.substring(7));
+  public ResponseEntity<ApiResponse<?>> fetchProfile(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken verifiedToken) {
+    final String userId = verifiedToken.subject();
 
     return this.profileService.fetchProfile(userId);
   }
@@ -139,17 +138,17 @@ public class ProfileController {
   /**
    * Profile 수정 요청
    *
-   * @param accessToken JWT 토큰
+   * @param verifiedToken JwtTokenFilter 에서 검증된 JWT 토큰
    * @param file Profile 이미지
    * @param request Profile 수정 요청
    * @return Profile 수정 결과
    */
   @PutMapping({"", "/"})
   public ResponseEntity<ApiResponse<?>> updateProfile(
-      @RequestHeader("Authorization") String accessToken,
+      @RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken verifiedToken,
       @RequestPart(value = "profileImage", required = false) MultipartFile file,
       @Valid @RequestPart("profileData") UpdateProfileReq request) {
-    final String userId = this.jwtTokenProvider.getUserIdFromAccessToken(accessToken.substring(7));
+    final String userId = verifiedToken.subject();
     log.info("Update Profile Request Received From userId: {}", userId);
 
     if(request.isProfileImageChanged() && (file == null || file.isEmpty())) {
@@ -0,0 +1,144 @@
+package me.cocoblue.passkeysample.controller;
+
+import me.cocoblue.passkeysample.storage.LocalFileStorageClient;
+import me.cocoblue.passkeysample.storage.LocalFileStorageClient.StoredFile;
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.catalina.Globals;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * LocalFileStorageClient 에 저장된 파일을 제공하는 Controller (app.s3.client 가 LOCAL 일 때만 동작)
+ * 파일 내용은 Heap 에 읽지 않고, Tomcat 의 sendfile 로 Kernel 에서 Socket 으로 바로 보낸다.
+ * sendfile 을 쓸 수 없으면 FileChannel.transferTo 로 보낸다.
+ *
+ * <p>ETag / Last-Modified 로 304 를, 단일 Range 요청으로 206 을 응답한다.
+ * 여러 구간을 요청한 Range 는 전체 파일로 응답한다. 공개하지 않는 파일 (원본 이미지) 은 404 로 응답한다.</p>
+ */
+@Log4j2
+@RestController
+@RequiredArgsConstructor
+public class StoredFileController {
+  public static final String PATH_PREFIX = "/files";
+
+  // 파일은 Key 가 바뀌어야 내용이 바뀌므로 오래 Cache 해도 됨
+  private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic();
+
+  private final ObjectStorageClient objectStorageClient;
+
+  @GetMapping(PATH_PREFIX + "/**")
+  public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    if (!(objectStorageClient instanceof LocalFileStorageClient localFileStorageClient)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    final String key = path.substring(PATH_PREFIX.length());
+    final Optional<StoredFile> found = localFileStorageClient.find(key);
+    if (found.isEmpty() || found.get().authenticatedRead()) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    final StoredFile file = found.get();
+    final String etag = String.format("\"%x-%x\"", file.size(), file.lastModified());
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    // If-None-Match / If-Modified-Since 를 확인하고, ETag 와 Last-Modified Header 를 설정
+    if (new ServletWebRequest(request, response).checkNotModified(etag, file.lastModified())) {
+      return;
+    }
+
+    long start = 0;
+    long end = file.size() - 1;
+    final String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+    if (rangeHeader != null && isRangeApplicable(request, etag, file.lastModified())) {
+      final List<HttpRange> ranges;
+      try {
+        ranges = HttpRange.parseRanges(rangeHeader);
+        if (ranges.size() == 1) {
+          start = ranges.get(0).getRangeStart(file.size());
+          end = ranges.get(0).getRangeEnd(file.size());
+        }
+      } catch (IllegalArgumentException e) {
+        sendRangeNotSatisfiable(response, file.size());
+        return;
+      }
+
+      if (ranges.size() == 1) {
+        // getRangeStart 는 파일 크기를 확인하지 않으므로, 파일 끝을 넘는 시작 위치는 여기서 거절
+        if (start >= file.size() || start > end) {
+          sendRangeNotSatisfiable(response, file.size());
+          return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE,
+            String.format("bytes %d-%d/%d", start, end, file.size()));
+      }
+    }
+
+    final long length = end - start + 1;
+    response.setContentType(file.contentType());
+    response.setContentLengthLong(length);
+    if ("HEAD".equals(request.getMethod()) || length <= 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+      // 응답 본문은 Tomcat 이 sendfile 로 보냄 (끝 위치는 포함하지 않음)
+      request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.path().toString());
+      request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+      request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, end + 1);
+      return;
+    }
+
+    try (FileChannel channel = FileChannel.open(file.path())) {
+      final WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      while (position <= end) {
+        position += channel.transferTo(position, end + 1 - position, output);
+      }
+    }
+  }
+
+  private static void sendRangeNotSatisfiable(HttpServletResponse response, long size)
+      throws IOException {
+    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+  }
+
+  /**
+   * If-Range 가 없거나, 현재 파일과 같을 때만 Range 를 적용 (다르면 전체 파일로 응답)
+   */
+  private static boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+    final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      return ifRange.equals(etag);
+    }
+    try {
+      return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+}
@@ -5,7 +5,7 @@ import me.cocoblue.passkeysample.dto.ApiResultCode;
 import me.cocoblue.passkeysample.dto.user.EmailCheckResp;
 import me.cocoblue.passkeysample.dto.user.SignUpReq;
 import me.cocoblue.passkeysample.dto.user.UserApiResp;
-import me.cocoblue.passkeysample.security.JwtTokenProvider;
+import me.cocoblue.passkeysample.security.VerifiedToken;
 import me.cocoblue.passkeysample.service.user.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,11 +28,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class UserController {
   private final UserService userService;
-  private final JwtTokenProvider jwtTokenProvider;
 
   @GetMapping("/me")
-  public ResponseEntity<ApiResponse<UserApiResp>> fetchLoginUser(@RequestHeader("Authorization") String accessToken) {
-    final String id = this.jwtTokenProvider.getUserIdFromAccessToken(accessToken.substring(7));
+  public ResponseEntity<ApiResponse<UserApiResp>> fetchLoginUser(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken verifiedToken) {
+    final String id = verifiedToken.subject();
     final UserApiResp userResponseDto = this.userService.findByIdToApiResp(id);
 
     return ResponseEntity
@@ -58,8 +58,8 @@ public class UserController {
   }
 
   @PutMapping("/")
-  public ResponseEntity<ApiResponse<UserApiResp>> updateUser(@RequestHeader("Authorization") String accessToken) {
-    final String id = this.jwtTokenProvider.getUserIdFromAccessToken(accessToken.substring(7));
+  public ResponseEntity<ApiResponse<UserApiResp>> updateUser(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken verifiedToken) {
+    final String id = verifiedToken.subject();
     final UserApiResp userResponseDto = this.userService.findByIdToApiResp(id);
 
     return ResponseEntity
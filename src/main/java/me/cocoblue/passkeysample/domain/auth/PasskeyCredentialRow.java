@@ -0,0 +1,24 @@
+package me.cocoblue.passkeysample.domain.auth;
+
+/**
+ * 패스키 인증에 필요한 passkey_records 컬럼만 담은 Projection
+ * 등록할 때만 필요한 Attestation 컬럼은 읽지 않는다.
+ *
+ * @see PasskeyRecordsRepository#findCredentialRowByCredentialId(String)
+ */
+public record PasskeyCredentialRow(
+    String credentialId,
+    String credentialType,
+    String userId,
+    String publicKey,
+    byte[] publicKeyBin,
+    long signatureCount,
+    boolean uvInitialized,
+    String transports,
+    boolean backupEligible,
+    boolean backupState,
+    Long created,
+    Long lastUsed,
+    String label
+) {
+}
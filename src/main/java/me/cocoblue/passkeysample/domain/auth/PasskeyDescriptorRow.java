@@ -0,0 +1,13 @@
+package me.cocoblue.passkeysample.domain.auth;
+
+/**
+ * 등록 / 인증 Options 의 excludeCredentials, allowCredentials 를 만들 때 필요한 컬럼만 담은 Projection
+ *
+ * @see PasskeyRecordsRepository#findDescriptorRowsByUserId(String)
+ */
+public record PasskeyDescriptorRow(
+    String credentialId,
+    String credentialType,
+    String transports
+) {
+}
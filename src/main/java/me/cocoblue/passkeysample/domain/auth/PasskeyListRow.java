@@ -0,0 +1,14 @@
+package me.cocoblue.passkeysample.domain.auth;
+
+/**
+ * 패스키 목록 응답에 필요한 passkey_records 컬럼만 담은 Projection
+ *
+ * @see PasskeyRecordsRepository#findListRowsByOwnerUserId(String)
+ */
+public record PasskeyListRow(
+    String uuid,
+    String label,
+    Long created,
+    Long lastUsed
+) {
+}
@@ -1,9 +1,12 @@
 package me.cocoblue.passkeysample.domain.auth;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,7 +22,6 @@ import org.hibernate.annotations.UuidGenerator;
 @Entity
 @Table(name = "passkey_records", indexes = {
     @Index(name = "idx_passkey_records_user_id", columnList = "userId"),
-    @Index(name = "idx_passkey_records_public_key", columnList = "publicKey"),
 })
 public class PasskeyRecordsEntity {
 
@@ -54,9 +56,14 @@ public class PasskeyRecordsEntity {
 
     private String userId;
 
+    // Base64URL 로 저장하는 기존 방식 (PasskeyStorageMode.TEXT)
     @Column(columnDefinition = "TEXT")
     private String publicKey;
 
+    // Binary 로 저장하는 방식 (PasskeyStorageMode.BINARY). 값이 있으면 publicKey 보다 우선
+    @Column(name = "public_key_bin", columnDefinition = "VARBINARY(2048)")
+    private byte[] publicKeyBin;
+
     private long signatureCount;
 
     private boolean uvInitialized;
@@ -73,6 +80,17 @@ public class PasskeyRecordsEntity {
     @Column(columnDefinition = "TEXT")
     private String attestationClientDataJSON;
 
+    // Attestation 은 등록할 때만 필요하므로, 인증 시에는 PasskeyCredentialRow 로 조회하여 읽지 않음
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "attestation_object_bin", columnDefinition = "MEDIUMBLOB")
+    private byte[] attestationObjectBin;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "attestation_client_data_json_bin", columnDefinition = "BLOB")
+    private byte[] attestationClientDataJSONBin;
+
     private Long created;
 
     private Long lastUsed;
@@ -91,8 +109,7 @@ public class PasskeyRecordsEntity {
             ", transports='" + transports + '\'' +
             ", backupEligible=" + backupEligible +
             ", backupState=" + backupState +
-            ", attestationObject='" + attestationObject + '\'' +
-            ", attestationClientDataJSON='" + attestationClientDataJSON + '\'' +
+            ", storedAsBinary=" + (publicKeyBin != null) +
             ", created=" + created +
             ", lastUsed=" + lastUsed +
             ", label='" + label + '\'' +
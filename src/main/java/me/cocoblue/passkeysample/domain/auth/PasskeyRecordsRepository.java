@@ -2,7 +2,11 @@ package me.cocoblue.passkeysample.domain.auth;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface PasskeyRecordsRepository extends CrudRepository<PasskeyRecordsEntity, String> {
 
@@ -10,4 +14,33 @@ public interface PasskeyRecordsRepository extends CrudRepository<PasskeyRecordsE
 
     Optional<PasskeyRecordsEntity> findByCredentialId(String credentialId);
     Optional<PasskeyRecordsEntity> findByUuid(String uuid);
+
+    // 라벨만 변경 (Entity 를 저장하면 Write-Behind 로 반영된 signature_count / last_used 를 덮어쓰므로)
+    @Modifying
+    @Query("UPDATE PasskeyRecordsEntity p SET p.label = :label WHERE p.uuid = :uuid")
+    int updateLabelByUuid(@Param("uuid") String uuid, @Param("label") String label);
+
+    @Query("SELECT new me.cocoblue.passkeysample.domain.auth.PasskeyCredentialRow("
+        + "p.credentialId, p.credentialType, p.userId, p.publicKey, p.publicKeyBin, p.signatureCount, "
+        + "p.uvInitialized, p.transports, p.backupEligible, p.backupState, p.created, p.lastUsed, p.label) "
+        + "FROM PasskeyRecordsEntity p WHERE p.credentialId = :credentialId")
+    Optional<PasskeyCredentialRow> findCredentialRowByCredentialId(@Param("credentialId") String credentialId);
+
+    @Query("SELECT new me.cocoblue.passkeysample.domain.auth.PasskeyDescriptorRow("
+        + "p.credentialId, p.credentialType, p.transports) "
+        + "FROM PasskeyRecordsEntity p WHERE p.userId = :userId")
+    List<PasskeyDescriptorRow> findDescriptorRowsByUserId(@Param("userId") String userId);
+
+    // passkey_users 와 Join 하여, 서비스 사용자 ID 로 패스키 목록에 필요한 컬럼만 한 번에 조회
+    @Query("SELECT new me.cocoblue.passkeysample.domain.auth.PasskeyListRow("
+        + "p.uuid, p.label, p.created, p.lastUsed) "
+        + "FROM PasskeyRecordsEntity p JOIN PasskeyUserEntity u ON p.userId = u.passKeyUserId "
+        + "WHERE u.userId.id = :userId")
+    List<PasskeyListRow> findListRowsByOwnerUserId(@Param("userId") String userId);
+
+    // 아직 Base64URL TEXT 로 저장된 행 (Binary 저장 방식으로 옮기기 위한 조회)
+    @Query("SELECT new me.cocoblue.passkeysample.domain.auth.PasskeyTextColumnsRow("
+        + "p.credentialId, p.publicKey, p.attestationObject, p.attestationClientDataJSON) "
+        + "FROM PasskeyRecordsEntity p WHERE p.publicKeyBin IS NULL AND p.publicKey IS NOT NULL")
+    List<PasskeyTextColumnsRow> findTextStoredRecords(Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package me.cocoblue.passkeysample.domain.auth;
+
+/**
+ * Base64URL TEXT 로 저장된 컬럼만 담은 Projection (Binary 컬럼으로 옮길 때 사용)
+ *
+ * @see PasskeyRecordsRepository#findTextStoredRecords(org.springframework.data.domain.Pageable)
+ */
+public record PasskeyTextColumnsRow(
+    String credentialId,
+    String publicKey,
+    String attestationObject,
+    String attestationClientDataJSON
+) {
+}
@@ -4,6 +4,7 @@ import me.cocoblue.passkeysample.domain.common.BaseTime;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.Builder;
@@ -15,7 +16,9 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "revoked_refresh_token")
+@Table(name = "revoked_refresh_token", indexes = {
+    @Index(name = "idx_revoked_refresh_token_original_expired_at", columnList = "original_expired_at"),
+})
 public class RevokedRefreshTokenEntity extends BaseTime {
   @Builder
   public RevokedRefreshTokenEntity(String token, LocalDateTime originalExpiredAt) {
@@ -23,6 +26,7 @@ public class RevokedRefreshTokenEntity extends BaseTime {
     this.originalExpiredAt = originalExpiredAt;
   }
 
+  // RevokedTokenKeyMode 에 따라 JWT 원문 또는 SHA-256 Hex 값
   @Id
   @Column(name = "token", nullable = false, length = 500)
   private String token;
@@ -1,11 +1,30 @@
 package me.cocoblue.passkeysample.domain.auth;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshTokenEntity, String> {
   @Cacheable(value = "revoked_tokens", key = "#token", unless = "#result == null")
   RevokedRefreshTokenEntity findByToken(String token);
+
+  // 아직 만료되지 않은 Revoked Token 목록 (Bloom Filter 전체 재구성용)
+  @Query("SELECT r.token FROM RevokedRefreshTokenEntity r WHERE r.originalExpiredAt > :now")
+  List<String> findTokensNotExpiredAt(@Param("now") LocalDateTime now);
+
+  // 특정 시각 이후에 Revoke 된 토큰 목록 (다른 서버에서 Revoke 한 토큰을 반영하기 위한 증분 동기화용)
+  @Query("SELECT r.token FROM RevokedRefreshTokenEntity r WHERE r.createdAt >= :since")
+  List<String> findTokensRevokedSince(@Param("since") LocalDateTime since);
+
+  // 만료된 토큰을 최대 limit 개 삭제 (MySQL DELETE ... LIMIT)
+  @Modifying
+  @Query(value = "DELETE FROM revoked_refresh_token WHERE original_expired_at < :now LIMIT :limit",
+      nativeQuery = true)
+  int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
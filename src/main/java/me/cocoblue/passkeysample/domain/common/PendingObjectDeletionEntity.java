@@ -0,0 +1,37 @@
+package me.cocoblue.passkeysample.domain.common;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 삭제를 기다리는 Object Storage 의 Object
+ * 삭제에 성공하면 행을 지우고, 실패하면 attempts 를 늘려 next_attempt_at 이후에 다시 시도한다.
+ * 행은 PendingObjectDeletionRepository#insertIgnore 로만 추가한다.
+ *
+ * @see me.cocoblue.passkeysample.service.common.ObjectDeletionService
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "pending_object_deletion", indexes = {
+    @Index(name = "idx_pending_object_deletion_next_attempt_at", columnList = "next_attempt_at"),
+})
+public class PendingObjectDeletionEntity extends BaseTime {
+  @Id
+  @Column(name = "object_key", nullable = false, length = 512)
+  private String objectKey;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+}
@@ -0,0 +1,27 @@
+package me.cocoblue.passkeysample.domain.common;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PendingObjectDeletionRepository extends
+    JpaRepository<PendingObjectDeletionEntity, String> {
+
+  // 이미 삭제 대기 중인 Key 는 무시 (같은 Key 를 여러 번 요청해도 한 번만 삭제)
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO pending_object_deletion"
+      + " (object_key, attempts, next_attempt_at, created_at, updated_at)"
+      + " VALUES (:objectKey, 0, :now, :now, :now)", nativeQuery = true)
+  int insertIgnore(@Param("objectKey") String objectKey, @Param("now") LocalDateTime now);
+
+  // 다시 시도할 시간이 된 Key 를 오래된 순서로 조회
+  @Query("SELECT p FROM PendingObjectDeletionEntity p"
+      + " WHERE p.nextAttemptAt <= :now ORDER BY p.nextAttemptAt")
+  List<PendingObjectDeletionEntity> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package me.cocoblue.passkeysample.domain.user;
 
 import jakarta.persistence.*;
+import java.util.Map;
 import me.cocoblue.passkeysample.domain.common.BaseTime;
 import lombok.Builder;
 import lombok.Getter;
@@ -56,6 +57,14 @@ public class UserEntity extends BaseTime {
   @Transient
   private String fullProfileUrl;
 
+  // 크기별 썸네일의 크기 목록 (예: "64,128,256,512"). null 이면 profile_url 한 장만 있음
+  @Column(name = "profile_image_sizes")
+  private String profileImageSizes;
+
+  // 크기 (px) 별 썸네일 URL (srcset 용)
+  @Transient
+  private Map<Integer, String> profileImageSrcset;
+
   @Column(name = "use_gravatar", nullable = false)
   @ColumnDefault("1")
   private boolean useGravatar = true;
@@ -76,6 +85,7 @@ public class UserEntity extends BaseTime {
         ", password=<DELETED>" +
         ", name='" + name + '\'' +
         ", profileUrl='" + profileUrl + '\'' +
+        ", profileImageSizes='" + profileImageSizes + '\'' +
         ", fullProfileUrl='" + fullProfileUrl + '\'' +
         ", useGravatar=" + useGravatar +
         ", role=" + role +
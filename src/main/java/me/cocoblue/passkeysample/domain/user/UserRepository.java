@@ -1,8 +1,12 @@
 package me.cocoblue.passkeysample.domain.user;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,4 +14,10 @@ import org.springframework.stereotype.Repository;
 public interface UserRepository extends JpaRepository<UserEntity, String> {
   boolean existsByEmail(String email);
   Optional<UserEntity> findByEmail(String email);
+
+  // 비밀번호 Hash 만 변경 (다른 컬럼을 덮어쓰지 않도록 Entity 를 저장하지 않음)
+  @Modifying
+  @Query("UPDATE UserEntity u SET u.password = :password, u.updatedAt = :now WHERE u.id = :id")
+  int updatePassword(@Param("id") String id, @Param("password") String password,
+      @Param("now") LocalDateTime now);
 }
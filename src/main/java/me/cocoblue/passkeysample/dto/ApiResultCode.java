@@ -13,8 +13,12 @@ public enum ApiResultCode {
   TOKEN_NOT_FOUND,
   USER_NOT_FOUND,
   DISABLED_USER,
+  // 로그인 시도가 너무 많은 경우
+  TOO_MANY_LOGIN_ATTEMPTS,
   // Passkey 관련 오류
   PASSKEY_NOT_FOUND,
   // 기타 에러
   INTERNAL_SERVER_ERROR,
+  // 처리할 수 있는 요청이 가득 찬 경우 (잠시 후 재시도)
+  SERVER_BUSY,
 }
@@ -1,6 +1,7 @@
 package me.cocoblue.passkeysample.dto.auth;
 
 import me.cocoblue.passkeysample.domain.user.UserEntity;
+import me.cocoblue.passkeysample.domain.user.UserRole;
 import java.util.Collection;
 import java.util.Collections;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +15,24 @@ public class UptimeUserDetails implements UserDetails {
     this.user = user;
   }
 
+  /**
+   * Access Token 의 Claim 만으로 UptimeUserDetails 를 만드는 메서드
+   * DB 를 조회하지 않으므로 비밀번호 등 Claim 에 없는 값은 채워지지 않는다.
+   *
+   * @param id    사용자 ID (sub)
+   * @param email 사용자 이메일
+   * @param role  사용자 권한
+   * @return Claim 기반 UptimeUserDetails
+   */
+  public static UptimeUserDetails fromClaims(String id, String email, UserRole role) {
+    return new UptimeUserDetails(UserEntity.builder()
+        .id(id)
+        .email(email)
+        .role(role)
+        .enabled(true)
+        .build());
+  }
+
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
     return Collections.singleton(new SimpleGrantedAuthority(user.getRole().name()));
@@ -37,6 +56,10 @@ public class UptimeUserDetails implements UserDetails {
     return user.getEmail();
   }
 
+  public UserRole getRole() {
+    return user.getRole();
+  }
+
   @Override
   public boolean isAccountNonExpired() {
     return true;
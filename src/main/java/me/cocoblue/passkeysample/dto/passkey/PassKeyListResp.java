@@ -1,6 +1,6 @@
 package me.cocoblue.passkeysample.dto.passkey;
 
-import me.cocoblue.passkeysample.domain.auth.PasskeyRecordsEntity;
+import me.cocoblue.passkeysample.domain.auth.PasskeyListRow;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -12,18 +12,18 @@ public record PassKeyListResp(
     LocalDateTime lastUsedAt
 ) {
 
-  public PassKeyListResp(PasskeyRecordsEntity entity) {
+  public PassKeyListResp(PasskeyListRow row) {
     this(
-        entity.getUuid(),
-        entity.getLabel(),
+        row.uuid(),
+        row.label(),
         // Epoch 밀리초 -> LocalDateTime 변환
         LocalDateTime.ofInstant(
-            Instant.ofEpochMilli(entity.getCreated()),
+            Instant.ofEpochMilli(row.created()),
             ZoneId.of("Asia/Seoul")
         ),
         // Epoch 밀리초 -> LocalDateTime 변환
         LocalDateTime.ofInstant(
-            Instant.ofEpochMilli(entity.getLastUsed()),
+            Instant.ofEpochMilli(row.lastUsed()),
             ZoneId.of("Asia/Seoul")
         )
     );
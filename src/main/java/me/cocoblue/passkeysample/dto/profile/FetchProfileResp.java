@@ -2,6 +2,7 @@ package me.cocoblue.passkeysample.dto.profile;
 
 import me.cocoblue.passkeysample.domain.user.UserEntity;
 import java.time.LocalDateTime;
+import java.util.Map;
 import lombok.Builder;
 
 @Builder
@@ -9,6 +10,8 @@ public record FetchProfileResp(
   String email,
   String name,
   String profileImage,
+  // 크기 (px) 별 프로필 이미지 URL. 크기별 이미지가 없으면 null
+  Map<Integer, String> profileImageSrcset,
   boolean useGravatar,
   LocalDateTime createdAt,
   LocalDateTime updatedAt
@@ -18,6 +21,7 @@ public record FetchProfileResp(
       userEntity.getEmail(),
       userEntity.getName(),
       userEntity.getFullProfileUrl(),
+      userEntity.getProfileImageSrcset(),
       userEntity.isUseGravatar(),
       userEntity.getCreatedAt(),
       userEntity.getUpdatedAt()
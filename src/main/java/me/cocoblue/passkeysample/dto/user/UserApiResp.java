@@ -1,8 +1,13 @@
 package me.cocoblue.passkeysample.dto.user;
 
 import me.cocoblue.passkeysample.domain.user.UserEntity;
+import java.util.Map;
 
-public record UserApiResp(String id, String name, boolean useGravatar, String profileUrl, String role) {
+/**
+ * @param profileSrcset 크기 (px) 별 프로필 이미지 URL. 크기별 이미지가 없으면 null
+ */
+public record UserApiResp(String id, String name, boolean useGravatar, String profileUrl,
+                          Map<Integer, String> profileSrcset, String role) {
 
   public UserApiResp(UserEntity user) {
     this(
@@ -10,6 +15,7 @@ public record UserApiResp(String id, String name, boolean useGravatar, String pr
         user.getName(),
         user.isUseGravatar(),
         user.getFullProfileUrl(),
+        user.getProfileImageSrcset(),
         user.getRole().name()
     );
   }
@@ -0,0 +1,14 @@
+package me.cocoblue.passkeysample.exception.auth;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+  // 응답의 Retry-After 헤더 값 (초)
+  private final long retryAfterSeconds;
+
+  public PasswordHashingBusyException(long retryAfterSeconds) {
+    super("비밀번호 처리 요청이 많아 잠시 후 다시 시도해야 합니다.");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
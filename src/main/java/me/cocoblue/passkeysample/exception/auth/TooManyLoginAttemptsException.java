@@ -0,0 +1,14 @@
+package me.cocoblue.passkeysample.exception.auth;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+  // 응답의 Retry-After 헤더 값 (초)
+  private final long retryAfterSeconds;
+
+  public TooManyLoginAttemptsException(long retryAfterSeconds) {
+    super("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해야 합니다.");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
@@ -5,8 +5,11 @@ import me.cocoblue.passkeysample.dto.ApiResultCode;
 import me.cocoblue.passkeysample.exception.BadRequestException;
 import me.cocoblue.passkeysample.exception.auth.InvalidTokenException;
 import me.cocoblue.passkeysample.exception.auth.MissingRefreshTokenException;
+import me.cocoblue.passkeysample.exception.auth.PasswordHashingBusyException;
+import me.cocoblue.passkeysample.exception.auth.TooManyLoginAttemptsException;
 import me.cocoblue.passkeysample.exception.user.DuplicateEmailException;
 import jakarta.transaction.RollbackException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -72,6 +75,32 @@ public class GlobalExceptionHandler {
         );
   }
 
+  // 비밀번호 Hashing Queue 가 가득 찬 경우, 잠시 후 다시 시도하도록 안내
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  public ResponseEntity<ApiResponse<Object>> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+    return ResponseEntity
+        .status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(
+            ApiResponse.builder()
+                .result(ApiResultCode.SERVER_BUSY)
+                .build()
+        );
+  }
+
+  // 이메일 또는 IP 별 로그인 시도 제한을 넘은 경우
+  @ExceptionHandler(TooManyLoginAttemptsException.class)
+  public ResponseEntity<ApiResponse<Object>> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex) {
+    return ResponseEntity
+        .status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(
+            ApiResponse.builder()
+                .result(ApiResultCode.TOO_MANY_LOGIN_ATTEMPTS)
+                .build()
+        );
+  }
+
   @ExceptionHandler(RollbackException.class)
   public ResponseEntity<ApiResponse<Object>> handleRollbackException(RollbackException ex) {
     return ResponseEntity
@@ -0,0 +1,55 @@
+package me.cocoblue.passkeysample.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+
+/**
+ * JVM 메모리에 Options 를 보관하는 WebAuthnOptionsStore
+ * 서버가 1대이거나, 같은 사용자의 요청이 항상 같은 서버로 가는 경우에만 사용할 수 있다.
+ */
+public class InMemoryWebAuthnOptionsStore implements WebAuthnOptionsStore {
+  private final Cache<String, Entry> cache;
+
+  public InMemoryWebAuthnOptionsStore(final long maximumSize) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new Expiry<String, Entry>() {
+          @Override
+          public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttl().toNanos();
+          }
+
+          @Override
+          public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttl().toNanos();
+          }
+
+          @Override
+          public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+  }
+
+  @Override
+  public void put(final String key, final Object options, final Duration ttl) {
+    cache.put(key, new Entry(options, ttl));
+  }
+
+  @Override
+  public Object get(final String key) {
+    final Entry entry = cache.getIfPresent(key);
+    return entry == null ? null : entry.options();
+  }
+
+  @Override
+  public void remove(final String key) {
+    cache.invalidate(key);
+  }
+
+  private record Entry(Object options, Duration ttl) {
+  }
+}
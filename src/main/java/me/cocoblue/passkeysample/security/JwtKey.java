@@ -0,0 +1,45 @@
+package me.cocoblue.passkeysample.security;
+
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Key Ring 에 들어있는 JWT 서명 키 1개.
+ * kid 는 공개 키의 RFC 7638 Thumbprint 이므로, 같은 키는 어느 서버에서 읽어도 같은 kid 를 가진다.
+ *
+ * @param kid        JWT 헤더의 kid
+ * @param algorithm  서명 알고리즘
+ * @param privateKey 서명용 개인 키 (검증 전용 키이면 null)
+ * @param publicKey  검증용 공개 키
+ */
+public record JwtKey(String kid, JwtSigningAlgorithm algorithm, PrivateKey privateKey,
+                     PublicKey publicKey) {
+
+  public static JwtKey of(final KeyPair keyPair, final String configuredAlgorithmName) {
+    final PublicKey publicKey = keyPair.getPublic();
+    final String kid = Jwks.builder().key(publicKey).build().thumbprint().toString();
+    return new JwtKey(kid, JwtSigningAlgorithm.resolve(configuredAlgorithmName, publicKey),
+        keyPair.getPrivate(), publicKey);
+  }
+
+  public boolean canSign() {
+    return privateKey != null;
+  }
+
+  /** Ring 에서 물러난 키는 개인 키를 들고 있을 필요가 없음 */
+  public JwtKey verificationOnly() {
+    return canSign() ? new JwtKey(kid, algorithm, null, publicKey) : this;
+  }
+
+  /** JWKS 응답에 들어가는 공개 JWK */
+  public PublicJwk<PublicKey> toPublicJwk() {
+    return Jwks.builder().key(publicKey)
+        .id(kid)
+        .algorithm(algorithm.getAlgorithm().getId())
+        .publicKeyUse("sig")
+        .build();
+  }
+}
@@ -0,0 +1,114 @@
+package me.cocoblue.passkeysample.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 토큰 종류(Access / Refresh) 하나에 대한 서명 키 묶음.
+ * 활성 키 1개로 서명하고, 활성 키와 은퇴한 키 전체로 검증한다.
+ * JwtParser 의 keyLocator 로 사용되므로, reload 로 키가 바뀌어도 Parser 를 다시 만들 필요가 없다.
+ *
+ * <p>활성 키 파일이 교체되면, 이전 활성 키는 그 키로 서명된 토큰이 모두 만료될 때까지(gracePeriod) 검증 키로 남는다.</p>
+ */
+@Log4j2
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+  private final String name;
+  private final String activeKeyLocation;
+  private final List<String> retiredKeyLocations;
+  private final String algorithmName;
+  private final Duration gracePeriod;
+
+  private volatile Snapshot snapshot;
+  // reload 로 교체된 이전 활성 키와, 검증에 사용할 수 있는 기한. reload 안에서만 접근한다.
+  private final Map<String, Rotated> rotatedKeys = new HashMap<>();
+
+  public JwtKeyRing(final String name, final String activeKeyLocation,
+      final List<String> retiredKeyLocations, final String algorithmName,
+      final Duration gracePeriod) {
+    this.name = name;
+    this.activeKeyLocation = activeKeyLocation;
+    this.retiredKeyLocations = retiredKeyLocations;
+    this.algorithmName = algorithmName;
+    this.gracePeriod = gracePeriod;
+  }
+
+  /**
+   * 설정된 PEM 파일을 다시 읽어 Key Ring 을 교체하는 메서드
+   *
+   * @return 검증 키 구성이 바뀌었는지 여부
+   */
+  public synchronized boolean reload() throws Exception {
+    final JwtKey active = JwtKey.of(PemFileLoader.loadKeyPair(activeKeyLocation), algorithmName);
+    if (!active.canSign()) {
+      throw new IllegalStateException("활성 JWT 키에는 개인 키가 필요합니다: " + activeKeyLocation);
+    }
+
+    final Map<String, JwtKey> keys = new LinkedHashMap<>();
+    keys.put(active.kid(), active);
+    for (final String location : retiredKeyLocations) {
+      final JwtKey retired = JwtKey.of(PemFileLoader.loadKeyPair(location), null);
+      keys.putIfAbsent(retired.kid(), retired.verificationOnly());
+    }
+
+    final Instant now = Instant.now();
+    final Snapshot previous = snapshot;
+    if (previous != null && !previous.active().kid().equals(active.kid())) {
+      log.info("[JWT] {} signing key rotated: {} -> {}", name, previous.active().kid(), active.kid());
+      rotatedKeys.put(previous.active().kid(),
+          new Rotated(previous.active().verificationOnly(), now.plus(gracePeriod)));
+    }
+    rotatedKeys.values().removeIf(rotated -> rotated.until().isBefore(now));
+    rotatedKeys.values().forEach(rotated -> keys.putIfAbsent(rotated.key().kid(), rotated.key()));
+
+    final Snapshot next = new Snapshot(active, Map.copyOf(keys));
+    snapshot = next;
+
+    final boolean changed = previous == null || !previous.keys().keySet().equals(next.keys().keySet());
+    if (changed) {
+      log.info("[JWT] {} key ring loaded. active: {} ({}), verification keys: {}",
+          name, active.kid(), active.algorithm(), next.keys().keySet());
+    }
+    return changed;
+  }
+
+  public JwtKey activeKey() {
+    return snapshot.active();
+  }
+
+  public Collection<JwtKey> verificationKeys() {
+    return snapshot.keys().values();
+  }
+
+  @Override
+  protected Key locate(final JwsHeader header) {
+    final Snapshot current = snapshot;
+    final String kid = header.getKeyId();
+    // kid 헤더가 생기기 전에 발급된 토큰은 활성 키로 검증
+    if (kid == null) {
+      return current.active().publicKey();
+    }
+
+    final JwtKey key = current.keys().get(kid);
+    if (key == null) {
+      throw new UnsupportedJwtException("Unknown key id: " + kid);
+    }
+    return key.publicKey();
+  }
+
+  private record Snapshot(JwtKey active, Map<String, JwtKey> keys) {
+  }
+
+  private record Rotated(JwtKey key, Instant until) {
+  }
+}
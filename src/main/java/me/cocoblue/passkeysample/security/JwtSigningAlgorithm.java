@@ -0,0 +1,75 @@
+package me.cocoblue.passkeysample.security;
+
+import io.jsonwebtoken.Jwts.SIG;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.security.Key;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.EdECKey;
+import java.security.interfaces.RSAKey;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+/**
+ * JWT 서명에 사용할 수 있는 알고리즘 모음.
+ * 토큰 종류(Access / Refresh) 별로 설정하며, 설정하지 않으면 키 종류로 결정한다.
+ *
+ * @see JwtTokenProvider
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JwtSigningAlgorithm {
+  RS256(SIG.RS256),
+  ES256(SIG.ES256),
+  // JWA 이름은 EdDSA 이며, Ed25519 키를 사용한다.
+  ED25519(SIG.EdDSA);
+
+  private final SignatureAlgorithm algorithm;
+
+  /**
+   * 설정 값과 키를 보고 서명 알고리즘을 결정하는 메서드
+   *
+   * @param configuredName 설정된 알고리즘 이름 (RS256, ES256, Ed25519 / EdDSA). 비어있으면 키로 결정
+   * @param key            서명 또는 검증에 사용할 키
+   * @return 서명 알고리즘
+   */
+  public static JwtSigningAlgorithm resolve(final String configuredName, final Key key) {
+    final JwtSigningAlgorithm fromKey = fromKey(key);
+    if (!StringUtils.hasText(configuredName)) {
+      return fromKey;
+    }
+
+    final JwtSigningAlgorithm configured = fromName(configuredName);
+    if (configured != fromKey) {
+      throw new IllegalStateException(String.format(
+          "설정된 JWT 알고리즘(%s)과 키 종류(%s)가 일치하지 않습니다.", configured, key.getAlgorithm()));
+    }
+    return configured;
+  }
+
+  public static JwtSigningAlgorithm fromName(final String name) {
+    final String normalized = name.trim().toUpperCase(Locale.ROOT);
+    if (normalized.equals("EDDSA")) {
+      return ED25519;
+    }
+    return valueOf(normalized);
+  }
+
+  public static JwtSigningAlgorithm fromKey(final Key key) {
+    if (key instanceof RSAKey) {
+      return RS256;
+    }
+    if (key instanceof ECKey ecKey) {
+      // ES256 은 P-256 곡선만 허용
+      if (ecKey.getParams().getCurve().getField().getFieldSize() != 256) {
+        throw new IllegalArgumentException("ES256 은 P-256 곡선의 EC 키만 지원합니다.");
+      }
+      return ES256;
+    }
+    if (key instanceof EdECKey || "Ed25519".equals(key.getAlgorithm())) {
+      return ED25519;
+    }
+    throw new IllegalArgumentException("지원되지 않는 키 종류입니다: " + key.getAlgorithm());
+  }
+}
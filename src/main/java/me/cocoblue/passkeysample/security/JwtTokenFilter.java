@@ -1,5 +1,6 @@
 package me.cocoblue.passkeysample.security;
 
+import me.cocoblue.passkeysample.dto.auth.UptimeUserDetails;
 import me.cocoblue.passkeysample.service.auth.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,15 +23,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
   private final JwtTokenProvider jwtTokenProvider;
+  private final VerifiedTokenCache verifiedTokenCache;
   private final CustomUserDetailsService customUserDetailsService;
 
+  // true 이면 Access Token 의 email, role Claim 으로 Principal 을 만들어 DB 를 조회하지 않는다.
+  @Value("${app.jwt.stateless-principal:false}")
+  private boolean statelessPrincipal;
+
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
     final String accessToken = getTokenFromRequest(request);
 
-    boolean isJwtTokenValid = false;
+    VerifiedToken verifiedToken = null;
     try {
-      isJwtTokenValid = jwtTokenProvider.validateToken(accessToken, false);
+      verifiedToken = verifiedTokenCache.get(accessToken, token -> jwtTokenProvider.verifyToken(token, false));
 
     } catch (Exception e) {
       String requestURI = request.getRequestURI();
@@ -42,8 +49,10 @@ public class JwtTokenFilter extends OncePerRequestFilter {
       }
     }
 
-    if (accessToken != null && isJwtTokenValid) {
-      UsernamePasswordAuthenticationToken authentication = getAuthenticationFromToken(accessToken);
+    if (accessToken != null && verifiedToken != null) {
+      // Controller 에서 토큰을 다시 파싱하지 않도록, 검증 결과를 Request 에 담아 전달
+      request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
+      UsernamePasswordAuthenticationToken authentication = getAuthenticationFromToken(verifiedToken);
       authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
       SecurityContextHolder.getContext().setAuthentication(authentication);
     }
@@ -59,10 +68,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     return null;
   }
 
-  private UsernamePasswordAuthenticationToken getAuthenticationFromToken(String token) {
-    String userId = jwtTokenProvider.getUserIdFromAccessToken(token);
+  private UsernamePasswordAuthenticationToken getAuthenticationFromToken(VerifiedToken token) {
+    String userId = token.subject();
     log.debug("userId from JWT: {}", userId);
-    UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+    // Claim 이 없는 (이전에 발급된) 토큰은 DB 에서 조회 (짧은 시간 동안 캐시됨)
+    UserDetails userDetails = statelessPrincipal && token.hasPrincipalClaims()
+        ? UptimeUserDetails.fromClaims(userId, token.email(), token.role())
+        : customUserDetailsService.loadUserById(userId);
     return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
   }
 }
@@ -1,25 +1,27 @@
 package me.cocoblue.passkeysample.security;
 
-import me.cocoblue.passkeysample.domain.auth.RevokedRefreshTokenRepository;
 import me.cocoblue.passkeysample.dto.auth.UptimeUserDetails;
 import me.cocoblue.passkeysample.exception.auth.InvalidTokenException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.Jwts.SIG;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
-import java.security.PrivateKey;
-import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 @Log4j2
 @Component
@@ -34,41 +36,89 @@ public class JwtTokenProvider {
   private Long jwtAccessTokenExpirationTime;
   @Value("${app.jwt.expiration.refresh}")
   private Long jwtRefreshTokenExpirationTime;
-
-  private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
-
-  private PrivateKey accessPrivateKey;
-  private PublicKey accessPublicKey;
-  private PrivateKey refreshPrivateKey;
-  private PublicKey refreshPublicKey;
+  // 비어있으면 키 종류(RSA, EC, Ed25519)로 서명 알고리즘을 결정
+  @Value("${app.jwt.algorithm.access:}")
+  private String accessAlgorithmName;
+  @Value("${app.jwt.algorithm.refresh:}")
+  private String refreshAlgorithmName;
+  // 검증에만 사용하는 이전 키 (콤마로 구분된 개인 키 또는 공개 키 PEM 경로)
+  @Value("${app.jwt.access-retired-key-locations:}")
+  private String[] accessRetiredKeyPaths;
+  @Value("${app.jwt.refresh-retired-key-locations:}")
+  private String[] refreshRetiredKeyPaths;
+
+  private final RevokedTokenRegistry revokedTokenRegistry;
+
+  private JwtKeyRing accessKeyRing;
+  private JwtKeyRing refreshKeyRing;
+
+  // JwtParser 는 immutable 하고 thread-safe 하므로, 한 번만 생성하여 재사용한다.
+  // 검증 키는 Key Ring 이 kid 헤더로 찾아주므로, 키가 교체되어도 Parser 는 그대로 사용한다.
+  private JwtParser accessTokenParser;
+  private JwtParser refreshTokenParser;
 
   @PostConstruct
   protected void init() throws Exception {
-    accessPrivateKey = PemFileLoader.loadPrivateKey(accessPrivateKeyPath);
-    accessPublicKey = PemFileLoader.extractPublicKeyFromPrivateKey(accessPrivateKeyPath);
-    refreshPrivateKey = PemFileLoader.loadPrivateKey(refreshPrivateKeyPath);
-    refreshPublicKey = PemFileLoader.extractPublicKeyFromPrivateKey(refreshPrivateKeyPath);
+    accessKeyRing = new JwtKeyRing("access", accessPrivateKeyPath, locations(accessRetiredKeyPaths),
+        accessAlgorithmName, Duration.ofMillis(jwtAccessTokenExpirationTime));
+    refreshKeyRing = new JwtKeyRing("refresh", refreshPrivateKeyPath, locations(refreshRetiredKeyPaths),
+        refreshAlgorithmName, Duration.ofMillis(jwtRefreshTokenExpirationTime));
+    accessKeyRing.reload();
+    refreshKeyRing.reload();
+
+    // 검증 알고리즘은 토큰 헤더의 alg 로 결정되며, 공개 키 종류와 맞지 않으면 jjwt 가 거부한다.
+    accessTokenParser = Jwts.parser().keyLocator(accessKeyRing).build();
+    refreshTokenParser = Jwts.parser().keyLocator(refreshKeyRing).build();
+  }
+
+  /**
+   * PEM 파일을 주기적으로 다시 읽어, 재시작 없이 키를 교체하는 메서드
+   * 읽기에 실패하면 기존 Key Ring 을 그대로 사용한다.
+   */
+  @Scheduled(fixedDelayString = "${app.jwt.key-reload-interval:60000}",
+      initialDelayString = "${app.jwt.key-reload-interval:60000}")
+  public void reloadKeys() {
+    try {
+      accessKeyRing.reload();
+      refreshKeyRing.reload();
+    } catch (final Exception ex) {
+      log.error("[JWT] Failed to reload signing keys. Keeping the current key ring.", ex);
+    }
+  }
+
+  /**
+   * JWKS 로 공개할 Access Token 검증 키 목록
+   */
+  public Collection<JwtKey> getAccessVerificationKeys() {
+    return accessKeyRing.verificationKeys();
   }
 
   public String generateAccessToken(final Authentication authentication) {
     final UptimeUserDetails uptimeUserDetails = (UptimeUserDetails) authentication.getPrincipal();
     final Date expiryDate = new Date(new Date().getTime() + jwtAccessTokenExpirationTime);
+    final JwtKey signingKey = accessKeyRing.activeKey();
     return Jwts.builder()
+        .header().keyId(signingKey.kid()).and()
         .subject(uptimeUserDetails.getId())
+        // Stateless Principal 모드에서 DB 조회 없이 UptimeUserDetails 를 복원하기 위한 Claim
+        .claim("email", uptimeUserDetails.getEmail())
+        .claim("role", uptimeUserDetails.getRole().name())
         .issuedAt(new Date())
         .expiration(expiryDate)
-        .signWith(accessPrivateKey, SIG.RS256)
+        .signWith(signingKey.privateKey(), signingKey.algorithm().getAlgorithm())
         .compact();
   }
 
   public String generateRefreshToken(final Authentication authentication) {
     final UptimeUserDetails uptimeUserDetails = (UptimeUserDetails) authentication.getPrincipal();
     final Date expiryDate = new Date(new Date().getTime() + jwtRefreshTokenExpirationTime);
+    final JwtKey signingKey = refreshKeyRing.activeKey();
     return Jwts.builder()
+        .header().keyId(signingKey.kid()).and()
         .subject(uptimeUserDetails.getId())
         .issuedAt(new Date())
         .expiration(expiryDate)
-        .signWith(refreshPrivateKey, SIG.RS256)
+        .signWith(signingKey.privateKey(), signingKey.algorithm().getAlgorithm())
         .compact();
   }
 
@@ -83,12 +133,14 @@ public class JwtTokenProvider {
   public String generateTempAuthorizationToken(final String userId, final long expirationTime,
       final TempTokenActionKey actionKey) {
     final Date expiryDate = new Date(new Date().getTime() + expirationTime);
+    final JwtKey signingKey = refreshKeyRing.activeKey();
     return Jwts.builder()
+        .header().keyId(signingKey.kid()).and()
         .subject(userId)
         .claim("action", actionKey)
         .issuedAt(new Date())
         .expiration(expiryDate)
-        .signWith(refreshPrivateKey, SIG.RS256)
+        .signWith(signingKey.privateKey(), signingKey.algorithm().getAlgorithm())
         .compact();
   }
 
@@ -101,9 +153,7 @@ public class JwtTokenProvider {
    */
   public String getUserIdFromTempAuthorizationToken(final String token, final TempTokenActionKey expectedAction) {
     // claims 를 불러옴.
-    final Claims claims = Jwts.parser()
-        .verifyWith(refreshPublicKey)
-        .build()
+    final Claims claims = refreshTokenParser
         .parseSignedClaims(token)
         .getPayload();
 
@@ -121,47 +171,52 @@ public class JwtTokenProvider {
   }
 
   public Date getExpirationFromToken(final String token, final boolean isRefreshToken) {
-    return Jwts.parser()
-        .verifyWith(isRefreshToken ? refreshPublicKey : accessPublicKey)
-        .build()
+    return parserFor(isRefreshToken)
         .parseSignedClaims(token)
         .getPayload()
         .getExpiration();
   }
 
   public String getUserIdFromAccessToken(final String token) {
-    return Jwts.parser()
-        .verifyWith(accessPublicKey)
-        .build()
+    return accessTokenParser
         .parseSignedClaims(token)
         .getPayload()
         .getSubject();
   }
 
   public String getUserIdFromRefreshToken(final String token) {
-    return Jwts.parser()
-        .verifyWith(refreshPublicKey)
-        .build()
+    return refreshTokenParser
         .parseSignedClaims(token)
         .getPayload()
         .getSubject();
   }
 
   public boolean validateToken(final String token, final boolean isRefreshToken) {
-    try {
-      final JwtParser parser = Jwts.parser()
-          .verifyWith(isRefreshToken ? refreshPublicKey : accessPublicKey)
-          .build();
+    verifyToken(token, isRefreshToken);
+    return true;
+  }
 
-      parser.parseSignedClaims(token);
+  /**
+   * 토큰을 한 번만 파싱하여 서명, 만료 여부를 검증하고 그 결과를 반환하는 메서드
+   * 검증에 실패하면 InvalidTokenException 을 던진다.
+   *
+   * @param token          검증할 토큰
+   * @param isRefreshToken Refresh Token 용 키로 검증할지 여부
+   * @return 검증된 토큰의 내용
+   */
+  public VerifiedToken verifyToken(final String token, final boolean isRefreshToken) {
+    try {
+      final Claims claims = parserFor(isRefreshToken)
+          .parseSignedClaims(token)
+          .getPayload();
 
       if(isRefreshToken) {
-        if(revokedRefreshTokenRepository.findByToken(token) != null) {
+        if(revokedTokenRegistry.isRevoked(token)) {
           log.info("Tried to use revoked refresh token.");
           throw new InvalidTokenException();
         }
       }
-      return true;
+      return VerifiedToken.from(claims);
     } catch (final ExpiredJwtException ex) {
       log.info("A request using Expired JWT token.");
       throw new InvalidTokenException();
@@ -179,4 +234,12 @@ public class JwtTokenProvider {
       throw new InvalidTokenException();
     }
   }
+
+  private static List<String> locations(final String[] paths) {
+    return Arrays.stream(paths).filter(StringUtils::hasText).toList();
+  }
+
+  private JwtParser parserFor(final boolean isRefreshToken) {
+    return isRefreshToken ? refreshTokenParser : accessTokenParser;
+  }
 }
\ No newline at end of file
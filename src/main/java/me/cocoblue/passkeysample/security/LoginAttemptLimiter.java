@@ -0,0 +1,166 @@
+package me.cocoblue.passkeysample.security;
+
+import me.cocoblue.passkeysample.exception.auth.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비밀번호 로그인 시도를 이메일, IP 별로 제한하는 Component
+ * 사용자 조회, 비밀번호 Hashing 전에 호출하여, 대량의 로그인 시도가 DB 와 CPU 를 쓰지 못하게 한다.
+ *
+ * <p>직전 구간과 현재 구간의 시도 수를 시간 비율로 합산하는 Sliding Window 방식이며,
+ * Key 별 상태는 불변 객체를 CAS 로 교체하므로 Lock 을 잡지 않는다.
+ * 한동안 시도가 없는 Key 는 Cache 에서 제거되어 메모리 사용량이 제한된다.</p>
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptLimiter {
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.security.login-throttle.enabled:true}")
+  private boolean enabled;
+  @Value("${app.security.login-throttle.window:60000}")
+  private long windowMillis;
+  @Value("${app.security.login-throttle.max-attempts-per-email:10}")
+  private int maxAttemptsPerEmail;
+  @Value("${app.security.login-throttle.max-attempts-per-ip:100}")
+  private int maxAttemptsPerIp;
+  @Value("${app.security.login-throttle.maximum-keys:100000}")
+  private long maximumKeys;
+
+  private Cache<String, AtomicReference<Window>> emailWindows;
+  private Cache<String, AtomicReference<Window>> ipWindows;
+  private Counter emailRejections;
+  private Counter ipRejections;
+
+  @PostConstruct
+  protected void init() {
+    emailWindows = newWindowCache();
+    ipWindows = newWindowCache();
+    emailRejections = rejectionCounter("email");
+    ipRejections = rejectionCounter("ip");
+    Gauge.builder("auth.login.throttle.keys", this,
+            limiter -> limiter.emailWindows.estimatedSize() + limiter.ipWindows.estimatedSize())
+        .description("Email and IP keys currently tracked by the login attempt limiter")
+        .register(meterRegistry);
+  }
+
+  private Cache<String, AtomicReference<Window>> newWindowCache() {
+    // 두 구간이 지나면 시도 수가 0 이 되므로, 그 이후에는 보관할 필요 없음
+    return Caffeine.newBuilder()
+        .maximumSize(maximumKeys)
+        .expireAfterAccess(Duration.ofMillis(windowMillis * 2))
+        .build();
+  }
+
+  private Counter rejectionCounter(String scope) {
+    return Counter.builder("auth.login.throttled")
+        .description("Password login attempts rejected by the login attempt limiter")
+        .tag("scope", scope)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 로그인 시도를 기록하고, 제한을 넘으면 TooManyLoginAttemptsException 을 던지는 메서드
+   * IP 를 먼저 확인하여, 한 IP 에서 여러 이메일로 시도하는 경우 이메일 Key 가 늘어나지 않도록 한다.
+   *
+   * @param email    로그인 요청의 이메일
+   * @param clientIp 요청한 IP
+   */
+  public void acquire(final String email, final String clientIp) {
+    if (!enabled) {
+      return;
+    }
+
+    final long now = System.currentTimeMillis();
+    if (clientIp != null) {
+      final long retryAfter = tryAcquire(ipWindows, clientIp, maxAttemptsPerIp, now);
+      if (retryAfter > 0) {
+        ipRejections.increment();
+        log.info("Too many login attempts from ip: {}", clientIp);
+        throw new TooManyLoginAttemptsException(retryAfter);
+      }
+    }
+
+    final long retryAfter = tryAcquire(emailWindows, normalize(email), maxAttemptsPerEmail, now);
+    if (retryAfter > 0) {
+      emailRejections.increment();
+      log.info("Too many login attempts for email: {}", email);
+      throw new TooManyLoginAttemptsException(retryAfter);
+    }
+  }
+
+  /**
+   * 로그인에 성공하면 해당 이메일의 시도 기록을 지우는 메서드 (비밀번호를 몇 번 틀린 사용자가 막히지 않도록)
+   */
+  public void reset(final String email) {
+    emailWindows.invalidate(normalize(email));
+  }
+
+  /**
+   * @return 허용되면 0, 거절되면 Retry-After (초)
+   */
+  private long tryAcquire(Cache<String, AtomicReference<Window>> windows, String key, int limit,
+      long now) {
+    final AtomicReference<Window> ref = windows.get(key,
+        k -> new AtomicReference<>(new Window(now - now % windowMillis, 0, 0)));
+    while (true) {
+      final Window current = ref.get();
+      final Window rotated = current.rotate(now, windowMillis);
+      if (rotated.estimate(now, windowMillis) >= limit) {
+        // 거절된 시도는 세지 않음 (계속 시도해도 제한 시간이 늘어나지 않음)
+        ref.compareAndSet(current, rotated);
+        return Math.max(1, (rotated.start() + windowMillis - now + 999) / 1000);
+      }
+      if (ref.compareAndSet(current, rotated.increment())) {
+        return 0;
+      }
+    }
+  }
+
+  private static String normalize(String email) {
+    return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 고정 구간 2개 (직전, 현재) 의 시도 수
+   *
+   * @param start    현재 구간의 시작 시각 (밀리초)
+   * @param previous 직전 구간의 시도 수
+   * @param current  현재 구간의 시도 수
+   */
+  private record Window(long start, int previous, int current) {
+
+    Window rotate(long now, long windowMillis) {
+      final long elapsed = now - start;
+      if (elapsed < windowMillis) {
+        return this;
+      }
+      final long alignedStart = now - now % windowMillis;
+      // 한 구간만 지났으면 현재 구간이 직전 구간이 되고, 그 이상 지났으면 모두 0
+      return new Window(alignedStart, elapsed < windowMillis * 2 ? current : 0, 0);
+    }
+
+    /** 직전 구간 중 아직 Window 에 걸쳐 있는 비율만큼 더한 시도 수 */
+    double estimate(long now, long windowMillis) {
+      final double overlap = 1.0 - (double) (now - start) / windowMillis;
+      return previous * overlap + current;
+    }
+
+    Window increment() {
+      return new Window(start, previous, current + 1);
+    }
+  }
+}
@@ -1,15 +1,21 @@
 package me.cocoblue.passkeysample.security;
 
+import me.cocoblue.passkeysample.domain.auth.PasskeyCredentialRow;
+import me.cocoblue.passkeysample.domain.auth.PasskeyDescriptorRow;
 import me.cocoblue.passkeysample.domain.auth.PasskeyRecordsEntity;
 import me.cocoblue.passkeysample.domain.auth.PasskeyRecordsRepository;
+import me.cocoblue.passkeysample.security.PasskeyUsageWriteBehindBuffer.PendingUsage;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.web.webauthn.api.AuthenticatorTransport;
 import org.springframework.security.web.webauthn.api.Bytes;
 import org.springframework.security.web.webauthn.api.CredentialRecord;
@@ -22,23 +28,46 @@ import org.springframework.util.Assert;
 @Log4j2
 public class PassKeyCustomUserCredentialRepository implements UserCredentialRepository {
 
+	/** 변환이 끝난 CredentialRecord 를 Credential ID (Base64URL) 로 보관하는 Cache */
+	public static final String CREDENTIAL_CACHE_NAME = "passkey_credentials";
+	/** 사용자가 가진 Credential ID, Transport 목록을 User Handle (Base64URL) 로 보관하는 Cache */
+	public static final String DESCRIPTOR_CACHE_NAME = "passkey_credential_descriptors";
+
 	private final PasskeyRecordsRepository passkeyRecordsRepository;
+	private final PasskeyUsageWriteBehindBuffer usageWriteBehindBuffer;
+	private final Cache credentialCache;
+	private final Cache descriptorCache;
+	private final PasskeyStorageMode storageMode;
 
 	public PassKeyCustomUserCredentialRepository(
-			PasskeyRecordsRepository passkeyRecordsRepository) {
+			PasskeyRecordsRepository passkeyRecordsRepository,
+			PasskeyUsageWriteBehindBuffer usageWriteBehindBuffer,
+			CacheManager cacheManager,
+			PasskeyStorageMode storageMode) {
 		this.passkeyRecordsRepository = passkeyRecordsRepository;
+		this.usageWriteBehindBuffer = usageWriteBehindBuffer;
+		this.storageMode = storageMode;
+		this.credentialCache = cacheManager.getCache(CREDENTIAL_CACHE_NAME);
+		Assert.notNull(credentialCache, "Cache '" + CREDENTIAL_CACHE_NAME + "' is not configured");
+		this.descriptorCache = cacheManager.getCache(DESCRIPTOR_CACHE_NAME);
+		Assert.notNull(descriptorCache, "Cache '" + DESCRIPTOR_CACHE_NAME + "' is not configured");
 	}
 
 	@Override
 	public void delete(Bytes credentialId) {
 		log.debug("PassKeyCustomUserCredentialRepository.delete Called.");
 		Assert.notNull(credentialId, "credentialId cannot be null");
+		passkeyRecordsRepository.findCredentialRowByCredentialId(credentialId.toBase64UrlString())
+				.ifPresent(row -> descriptorCache.evict(row.userId()));
 		passkeyRecordsRepository.deleteById(credentialId.toBase64UrlString());
+		usageWriteBehindBuffer.discard(credentialId.toBase64UrlString());
+		credentialCache.evict(credentialId.toBase64UrlString());
 	}
 
 	/**
 	 * /register 요청 시에 호출되는 함수 (Register - 4)
 	 * 중복 확인까지 끝나면, 실제로 PassKey Records Entity 에 저장
+	 * 인증 후 서명 횟수, 마지막 사용일만 바뀐 경우에는 PasskeyUsageWriteBehindBuffer 에 모아서 반영한다.
 	 *
 	 * @see me.cocoblue.passkeysample.security.PassKeyCustomUserCredentialRepository#findByCredentialId(Bytes)
 	 * @param credentialRecord WebAuthn4J에서 생성된 객체
@@ -48,10 +77,40 @@ public class PassKeyCustomUserCredentialRepository implements UserCredentialRepo
 		log.debug("PassKeyCustomUserCredentialRepository.save Called.");
 		Assert.notNull(credentialRecord, "credentialRecord cannot be null");
 
+		final String key = credentialRecord.getCredentialId().toBase64UrlString();
+		final CredentialRecord existing = findByCredentialId(credentialRecord.getCredentialId());
+		if (existing != null && usageWriteBehindBuffer.isEnabled()
+				&& onlyUsageChanged(existing, credentialRecord)) {
+			usageWriteBehindBuffer.record(key, credentialRecord.getSignatureCount(),
+					credentialRecord.getLastUsed().toEpochMilli());
+			credentialCache.put(key, credentialRecord);
+			return;
+		}
+
 		PasskeyRecordsEntity passkeyRecordsEntity = transform(credentialRecord);
-		passkeyRecordsEntity.setUuid(UUID.randomUUID().toString());
+		final Optional<PasskeyRecordsEntity> storedEntity = passkeyRecordsRepository.findByCredentialId(key);
+		// 이미 등록된 Credential 이면 기존 UUID 를 유지 (패스키 목록, 수정, 삭제 API 에서 사용)
+		passkeyRecordsEntity.setUuid(storedEntity
+				.map(PasskeyRecordsEntity::getUuid)
+				.orElseGet(() -> UUID.randomUUID().toString()));
+		// 인증 경로에서 읽은 CredentialRecord 에는 Attestation 이 없으므로, 저장된 값을 유지
+		if (credentialRecord.getAttestationObject() == null) {
+			storedEntity.ifPresent(stored -> passkeyRecordsEntity
+					.setAttestationObject(stored.getAttestationObject())
+					.setAttestationClientDataJSON(stored.getAttestationClientDataJSON())
+					.setAttestationObjectBin(stored.getAttestationObjectBin())
+					.setAttestationClientDataJSONBin(stored.getAttestationClientDataJSONBin()));
+		}
 		// TODO: 이 부분을 기존 user 테이블과 연동해야함.
 		passkeyRecordsRepository.save(passkeyRecordsEntity);
+		// 전체를 저장했으므로 대기 중인 갱신은 필요 없음 (저장한 값이 대기 값보다 작지 않음)
+		usageWriteBehindBuffer.discard(key);
+		// 새로 등록된 경우 excludeCredentials 목록이 바뀜
+		if (storedEntity.isEmpty()) {
+			descriptorCache.evict(credentialRecord.getUserEntityUserId().toBase64UrlString());
+		}
+		// 인증할 때마다 서명 횟수, 마지막 사용일이 갱신되어 저장되므로, 저장한 값으로 Cache 를 교체
+		credentialCache.put(key, credentialRecord);
 	}
 
 	/**
@@ -66,16 +125,30 @@ public class PassKeyCustomUserCredentialRepository implements UserCredentialRepo
 	public CredentialRecord findByCredentialId(Bytes credentialId) {
 		log.debug("PassKeyCustomUserCredentialRepository.findByCredentialId Called. credentialId: {}", credentialId);
 		Assert.notNull(credentialId, "credentialId cannot be null");
-		Optional<PasskeyRecordsEntity> optionalCredentialRecord = passkeyRecordsRepository.findByCredentialId(credentialId.toBase64UrlString());
+		final String key = credentialId.toBase64UrlString();
+		final CredentialRecord cached = credentialCache.get(key, CredentialRecord.class);
+		if (cached != null) {
+			return cached;
+		}
+
+		// 인증에는 Attestation 이 필요 없으므로, 해당 컬럼을 제외하고 조회
+		Optional<PasskeyCredentialRow> optionalCredentialRecord = passkeyRecordsRepository.findCredentialRowByCredentialId(key);
 		log.debug("The Matching CredentialRecordDto exists: {}", optionalCredentialRecord.isPresent());
 
-		return optionalCredentialRecord.map(this::transform).orElse(null);
+		final CredentialRecord credentialRecord = optionalCredentialRecord.map(this::transform)
+				.map(this::overlayPendingUsage)
+				.orElse(null);
+		if (credentialRecord != null) {
+			credentialCache.put(key, credentialRecord);
+		}
+		return credentialRecord;
 	}
 
 	/**
 	 * 1번에서 찾은 PublicKeyCredentialUserEntity 를 기반으로 CredentialRecordDto 를 찾음. (Register - 3)
-	 * PassKeyRecordsEntity 를 찾아서 CredentialRecordDto 로 변환하여 반환
-	 * exclude 항목을 만들기 위해서 호출할 것으로 생각함.
+	 * Spring Security 는 이 결과로 excludeCredentials, allowCredentials 만 만들기 때문에
+	 * Credential ID, Type, Transport 만 채운 CredentialRecord 를 반환한다. (공개키, 서명 횟수 등은 비어 있음)
+	 * 결과는 User Handle 별로 Cache 하며, 패스키를 등록하거나 삭제하면 제거한다.
 	 *
 	 * @param userId PassKey User ID
 	 * @return List<CredentialRecordDto> 해당 유저가 가지고 있는 CredentialRecordDto 목록
@@ -84,34 +157,90 @@ public class PassKeyCustomUserCredentialRepository implements UserCredentialRepo
 	public List<CredentialRecord> findByUserId(Bytes userId) {
 		log.debug("PassKeyCustomUserCredentialRepository.findByUserId Called.");
 		Assert.notNull(userId, "userId cannot be null");
-		var credentialRecordEntities = passkeyRecordsRepository.findByUserId(userId.toBase64UrlString());
-		return credentialRecordEntities.stream().map(this::transform).toList();
+		final String key = userId.toBase64UrlString();
+		return descriptorCache.get(key, () -> passkeyRecordsRepository.findDescriptorRowsByUserId(key)
+				.stream()
+				.map(row -> transform(row, userId))
+				.toList());
+	}
+
+	/**
+	 * 아직 DB 에 반영되지 않은 서명 횟수, 마지막 사용일을 덮어쓰는 메서드
+	 * 서명 횟수가 줄어든 것처럼 보여 복제된 인증기로 판단되는 일이 없도록 한다.
+	 */
+	private CredentialRecord overlayPendingUsage(CredentialRecord credentialRecord) {
+		final long lastUsed = credentialRecord.getLastUsed().toEpochMilli();
+		final PendingUsage usage = usageWriteBehindBuffer.overlay(
+				credentialRecord.getCredentialId().toBase64UrlString(),
+				credentialRecord.getSignatureCount(), lastUsed);
+		if (usage.signatureCount() == credentialRecord.getSignatureCount() && usage.lastUsed() == lastUsed) {
+			return credentialRecord;
+		}
+
+		return ImmutableCredentialRecord.fromCredentialRecord(credentialRecord)
+				.signatureCount(usage.signatureCount())
+				.lastUsed(Instant.ofEpochMilli(usage.lastUsed()))
+				.build();
+	}
+
+	/**
+	 * 인증 후 저장 요청이 서명 횟수, 마지막 사용일 외에는 바뀐 것이 없는지 확인
+	 */
+	private boolean onlyUsageChanged(CredentialRecord existing, CredentialRecord updated) {
+		return Objects.equals(existing.getLabel(), updated.getLabel())
+				&& Objects.equals(existing.getUserEntityUserId(), updated.getUserEntityUserId())
+				&& Objects.equals(existing.getTransports(), updated.getTransports())
+				&& existing.isBackupEligible() == updated.isBackupEligible()
+				&& existing.isBackupState() == updated.isBackupState()
+				&& existing.isUvInitialized() == updated.isUvInitialized();
 	}
 
-	private CredentialRecord transform(PasskeyRecordsEntity passkeyRecordsEntity) {
+	private CredentialRecord transform(PasskeyCredentialRow row) {
 		var transports = Stream.of(
-				passkeyRecordsEntity
-						.getTransports()
+				row
+						.transports()
 						.split(",")
 		).map(AuthenticatorTransport::valueOf).collect(Collectors.toCollection(HashSet::new));
 		return ImmutableCredentialRecord.builder()
-				.credentialId(Bytes.fromBase64(passkeyRecordsEntity.getCredentialId()))
-				.credentialType(PublicKeyCredentialType.valueOf(passkeyRecordsEntity.getCredentialType()))
-				.attestationClientDataJSON(Bytes.fromBase64(passkeyRecordsEntity.getAttestationClientDataJSON()))
-				.attestationObject(Bytes.fromBase64(passkeyRecordsEntity.getAttestationObject()))
-				.backupEligible(passkeyRecordsEntity.isBackupEligible())
-				.backupState(passkeyRecordsEntity.isBackupState())
-				.created(Instant.ofEpochMilli(passkeyRecordsEntity.getCreated()))
-				.lastUsed(Instant.ofEpochMilli(passkeyRecordsEntity.getLastUsed()))
-				.label(passkeyRecordsEntity.getLabel())
-				.userEntityUserId(Bytes.fromBase64(passkeyRecordsEntity.getUserId()))
-				.publicKey(new ImmutablePublicKeyCose(Bytes.fromBase64(passkeyRecordsEntity.getPublicKey()).getBytes()))
-				.signatureCount(passkeyRecordsEntity.getSignatureCount())
-				.uvInitialized(passkeyRecordsEntity.isUvInitialized())
+				.credentialId(Bytes.fromBase64(row.credentialId()))
+				.credentialType(PublicKeyCredentialType.valueOf(row.credentialType()))
+				.backupEligible(row.backupEligible())
+				.backupState(row.backupState())
+				.created(Instant.ofEpochMilli(row.created()))
+				.lastUsed(Instant.ofEpochMilli(row.lastUsed()))
+				.label(row.label())
+				.userEntityUserId(Bytes.fromBase64(row.userId()))
+				.publicKey(new ImmutablePublicKeyCose(decode(row.publicKeyBin(), row.publicKey()).getBytes()))
+				.signatureCount(row.signatureCount())
+				.uvInitialized(row.uvInitialized())
 				.transports(transports)
 				.build();
 	}
 
+	private CredentialRecord transform(PasskeyDescriptorRow row, Bytes userId) {
+		var transports = Stream.of(
+				row
+						.transports()
+						.split(",")
+		).map(AuthenticatorTransport::valueOf).collect(Collectors.toCollection(HashSet::new));
+		return ImmutableCredentialRecord.builder()
+				.credentialId(Bytes.fromBase64(row.credentialId()))
+				.credentialType(PublicKeyCredentialType.valueOf(row.credentialType()))
+				.userEntityUserId(userId)
+				.transports(transports)
+				.build();
+	}
+
+	/**
+	 * Binary 컬럼에 값이 있으면 그대로 사용하고, 없으면 Base64URL TEXT 컬럼을 Decode
+	 */
+	private static Bytes decode(byte[] binary, String text) {
+		if (binary != null) {
+			return new Bytes(binary);
+		}
+		return text == null ? null : Bytes.fromBase64(text);
+	}
+
 	/**
 	 * WebAuth4J에서 제공한 CredentialRecordDto 객체를 PasskeyRecordsEntity 로 변환
 	 *
@@ -124,7 +253,7 @@ public class PassKeyCustomUserCredentialRepository implements UserCredentialRepo
 				.collect(Collectors.joining(","));
 		credentialRecord.getTransports().forEach(t -> log.debug("t is {}", t));
 
-		return PasskeyRecordsEntity.builder()
+		final PasskeyRecordsEntity entity = PasskeyRecordsEntity.builder()
 				// PassKey 하나를 내부에서 분류하는 ID
 				.credentialId(credentialRecord.getCredentialId().toBase64UrlString())
 				// passkey_users 테이블의 ID
@@ -136,10 +265,6 @@ public class PassKeyCustomUserCredentialRepository implements UserCredentialRepo
 				.lastUsed(credentialRecord.getLastUsed().toEpochMilli())
 				// 라벨 (사용자가 지정)
 				.label(credentialRecord.getLabel())
-				// AttestationClientDataJSON
-				.attestationClientDataJSON(credentialRecord.getAttestationClientDataJSON().toBase64UrlString())
-				// AttestationObject
-				.attestationObject(credentialRecord.getAttestationObject().toBase64UrlString())
 				// 백업 가능 여부
 				.backupEligible(credentialRecord.isBackupEligible())
 				// 백업 상태
@@ -152,9 +277,22 @@ public class PassKeyCustomUserCredentialRepository implements UserCredentialRepo
 				.transports(transports)
 				// Credential Type
 				.credentialType(credentialRecord.getCredentialType().getValue())
-				// 공개키
-				.publicKey(new Bytes(credentialRecord.getPublicKey().getBytes()).toBase64UrlString())
 				.build();
+
+		final Bytes clientDataJSON = credentialRecord.getAttestationClientDataJSON();
+		final Bytes attestationObject = credentialRecord.getAttestationObject();
+		if (storageMode == PasskeyStorageMode.BINARY) {
+			// 공개키, Attestation 을 원본 byte 로 저장
+			entity.setPublicKeyBin(credentialRecord.getPublicKey().getBytes())
+					.setAttestationClientDataJSONBin(clientDataJSON == null ? null : clientDataJSON.getBytes())
+					.setAttestationObjectBin(attestationObject == null ? null : attestationObject.getBytes());
+		} else {
+			// 공개키, Attestation 을 Base64URL 로 저장
+			entity.setPublicKey(new Bytes(credentialRecord.getPublicKey().getBytes()).toBase64UrlString())
+					.setAttestationClientDataJSON(clientDataJSON == null ? null : clientDataJSON.toBase64UrlString())
+					.setAttestationObject(attestationObject == null ? null : attestationObject.toBase64UrlString());
+		}
+		return entity;
 	}
 
 }
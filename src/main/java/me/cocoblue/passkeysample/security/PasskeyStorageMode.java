@@ -0,0 +1,12 @@
+package me.cocoblue.passkeysample.security;
+
+/**
+ * 패스키 공개 키, Attestation 을 passkey_records 에 저장하는 방식
+ * 읽을 때는 방식과 관계없이 Binary 컬럼에 값이 있으면 Binary 를, 없으면 TEXT 컬럼을 사용한다.
+ */
+public enum PasskeyStorageMode {
+  // Base64URL 문자열로 TEXT 컬럼에 저장 (기존 방식)
+  TEXT,
+  // 원본 byte 를 VARBINARY / BLOB 컬럼에 저장
+  BINARY
+}
@@ -0,0 +1,136 @@
+package me.cocoblue.passkeysample.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 패스키 인증마다 발생하는 signatureCount, lastUsed 갱신을 모아두었다가 JDBC Batch 로 반영하는 Buffer
+ * 같은 Credential 의 갱신은 큰 값으로 합쳐지므로, 로그인이 몰려도 Credential 당 한 번만 UPDATE 한다.
+ *
+ * <p>DB 에 반영되기 전의 값은 {@link #overlay(String, long, long)} 로 조회 결과에 덮어써서,
+ * 서명 횟수 비교(복제된 인증기 탐지)가 항상 최신 값으로 이루어지도록 한다.</p>
+ *
+ * @see PassKeyCustomUserCredentialRepository#save
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class PasskeyUsageWriteBehindBuffer {
+  private static final String UPDATE_SQL = "UPDATE passkey_records"
+      + " SET signature_count = GREATEST(signature_count, ?),"
+      + " last_used = GREATEST(COALESCE(last_used, 0), ?)"
+      + " WHERE credential_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.passkey.usage-write-behind.enabled:true}")
+  private boolean enabled;
+  @Value("${app.passkey.usage-write-behind.batch-size:500}")
+  private int batchSize;
+
+  private final Map<String, PendingUsage> pending = new ConcurrentHashMap<>();
+
+  private Counter bufferedUpdates;
+  private Counter flushedRows;
+
+  @PostConstruct
+  protected void init() {
+    bufferedUpdates = Counter.builder("passkey.usage.buffered")
+        .description("Passkey usage updates accepted by the write-behind buffer")
+        .register(meterRegistry);
+    flushedRows = Counter.builder("passkey.usage.flushed")
+        .description("Passkey credentials written by write-behind flushes")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 갱신할 값을 Buffer 에 추가하는 메서드
+   *
+   * @param credentialId   Credential ID (Base64URL)
+   * @param signatureCount 서명 횟수
+   * @param lastUsed       마지막 사용일 (epoch millis)
+   */
+  public void record(final String credentialId, final long signatureCount, final long lastUsed) {
+    pending.merge(credentialId, new PendingUsage(signatureCount, lastUsed), PendingUsage::max);
+    bufferedUpdates.increment();
+  }
+
+  /**
+   * DB 에서 읽은 값에 아직 반영되지 않은 값을 덮어쓰는 메서드
+   *
+   * @return 반영 대기 중인 값이 있으면 합친 값, 없으면 DB 값 그대로
+   */
+  public PendingUsage overlay(final String credentialId, final long signatureCount, final long lastUsed) {
+    final PendingUsage stored = new PendingUsage(signatureCount, lastUsed);
+    final PendingUsage buffered = pending.get(credentialId);
+    return buffered == null ? stored : stored.max(buffered);
+  }
+
+  public void discard(final String credentialId) {
+    pending.remove(credentialId);
+  }
+
+  @Scheduled(fixedDelayString = "${app.passkey.usage-write-behind.flush-interval:5000}")
+  public void flush() {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    final Map<String, PendingUsage> drained = new HashMap<>();
+    for (String credentialId : pending.keySet()) {
+      final PendingUsage usage = pending.remove(credentialId);
+      if (usage != null) {
+        drained.put(credentialId, usage);
+      }
+    }
+
+    try {
+      jdbcTemplate.batchUpdate(UPDATE_SQL, new ArrayList<>(drained.entrySet()), batchSize,
+          (ps, entry) -> {
+            ps.setLong(1, entry.getValue().signatureCount());
+            ps.setLong(2, entry.getValue().lastUsed());
+            ps.setString(3, entry.getKey());
+          });
+      flushedRows.increment(drained.size());
+      log.debug("Flushed {} passkey usage updates.", drained.size());
+    } catch (RuntimeException ex) {
+      // 실패한 값은 다시 Buffer 에 넣어 다음 주기에 반영
+      drained.forEach((credentialId, usage) -> pending.merge(credentialId, usage, PendingUsage::max));
+      log.error("Failed to flush passkey usage updates. {} entries will be retried.", drained.size(), ex);
+    }
+  }
+
+  @PreDestroy
+  protected void shutdown() {
+    flush();
+  }
+
+  /**
+   * @param signatureCount 서명 횟수
+   * @param lastUsed       마지막 사용일 (epoch millis)
+   */
+  public record PendingUsage(long signatureCount, long lastUsed) {
+
+    public PendingUsage max(final PendingUsage other) {
+      return new PendingUsage(Math.max(signatureCount, other.signatureCount),
+          Math.max(lastUsed, other.lastUsed));
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package me.cocoblue.passkeysample.security;
+
+import me.cocoblue.passkeysample.config.PasswordEncoderProperties;
+import me.cocoblue.passkeysample.config.PasswordEncoderProperties.Argon2;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 서버에서 목표 시간 안에 끝나는 가장 높은 비밀번호 Hashing 비용을 찾는 Component
+ * app.security.password-encoder.calibration.enabled=true 일 때만 서버 시작 시 한 번 실행되며,
+ * 측정 결과와 추천 값을 로그로만 남긴다. (설정을 바꾸지는 않음)
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.security.password-encoder.calibration", name = "enabled", havingValue = "true")
+public class PasswordEncoderCostCalibrator implements ApplicationRunner {
+  private static final String SAMPLE_PASSWORD = "calibration-Sample-Passw0rd!";
+  private static final int SAMPLES = 3;
+  private static final int MIN_BCRYPT_STRENGTH = 8;
+  private static final int MAX_BCRYPT_STRENGTH = 16;
+  private static final int MAX_ARGON2_ITERATIONS = 10;
+
+  private final PasswordEncoderProperties properties;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    final long targetMillis = properties.calibration().targetMillis();
+    log.info("Calibrating password hashing cost for a target of {} ms.", targetMillis);
+
+    final int strength = calibrate("bcrypt strength", MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH,
+        targetMillis, BCryptPasswordEncoder::new);
+
+    // 메모리, 병렬 수는 설정 값을 유지하고 반복 횟수만 조정
+    final Argon2 argon2 = properties.argon2();
+    final int iterations = calibrate("argon2 iterations", 1, MAX_ARGON2_ITERATIONS, targetMillis,
+        cost -> new Argon2PasswordEncoder(argon2.saltLength(), argon2.hashLength(),
+            argon2.parallelism(), argon2.memory(), cost));
+
+    log.info("Recommended settings: APP_PASSWORD_BCRYPT_STRENGTH={}, APP_PASSWORD_ARGON2_ITERATIONS={} "
+        + "(argon2 memory={} KiB, parallelism={})", strength, iterations, argon2.memory(), argon2.parallelism());
+  }
+
+  /**
+   * 비용을 1씩 올리며 측정하고, 목표 시간을 넘지 않는 가장 높은 비용을 반환
+   * 목표 시간을 넘으면 더 높은 비용은 측정하지 않는다.
+   */
+  private int calibrate(String name, int minCost, int maxCost, long targetMillis,
+      IntFunction<PasswordEncoder> encoderForCost) {
+    int recommended = minCost;
+    for (int cost = minCost; cost <= maxCost; cost++) {
+      final long millis = measure(encoderForCost.apply(cost));
+      log.info("{} {}: {} ms", name, cost, millis);
+      if (millis > targetMillis) {
+        break;
+      }
+      recommended = cost;
+    }
+    return recommended;
+  }
+
+  /** 첫 실행 (JIT Warm-up) 을 제외한 matches 시간의 중앙값 */
+  private long measure(PasswordEncoder encoder) {
+    final String encoded = encoder.encode(SAMPLE_PASSWORD);
+    final long[] samples = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      final long start = System.nanoTime();
+      encoder.matches(SAMPLE_PASSWORD, encoded);
+      samples[i] = (System.nanoTime() - start) / 1_000_000;
+    }
+    Arrays.sort(samples);
+    return samples[SAMPLES / 2];
+  }
+}
@@ -4,38 +4,81 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.security.KeyFactory;
+import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
 import java.security.spec.RSAPublicKeySpec;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.edec.EdECObjectIdentifiers;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.EC5Util;
+import org.bouncycastle.openssl.PEMKeyPair;
 import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 
 public class PemFileLoader {
 
+  // "classpath:" 또는 접두어가 없으면 Classpath, "file:" 이면 파일 시스템에서 읽는다.
+  private static final ResourceLoader RESOURCE_LOADER = new DefaultResourceLoader();
+
   public static PrivateKey loadPrivateKey(String resourcePath) throws Exception {
-    Resource resource = new ClassPathResource(resourcePath.replace("classpath:", ""));
+    return loadKeyPair(resourcePath).getPrivate();
+  }
+
+  public static PublicKey extractPublicKeyFromPrivateKey(String privateKeyPath) throws Exception {
+    return loadKeyPair(privateKeyPath).getPublic();
+  }
+
+  /**
+   * PEM 파일에서 개인 키를 읽고, 짝이 되는 공개 키와 함께 반환하는 메서드
+   * RSA, EC (P-256), Ed25519 키를 지원한다.
+   * 공개 키 PEM 파일이면 개인 키가 null 인 KeyPair 를 반환한다. (검증 전용 키)
+   *
+   * @param resourcePath PEM 파일 경로
+   * @return 개인 키와 공개 키
+   */
+  public static KeyPair loadKeyPair(String resourcePath) throws Exception {
+    Resource resource = RESOURCE_LOADER.getResource(resourcePath.trim());
     try (InputStream inputStream = resource.getInputStream();
         Reader reader = new InputStreamReader(inputStream);
         PEMParser pemParser = new PEMParser(reader)) {
 
       Object object = pemParser.readObject();
+      JcaPEMKeyConverter converter = new JcaPEMKeyConverter();
 
-      if (object instanceof PrivateKeyInfo) {
-        return new JcaPEMKeyConverter().getPrivateKey((PrivateKeyInfo) object);
+      if (object instanceof PEMKeyPair pemKeyPair) {
+        // "BEGIN RSA PRIVATE KEY", "BEGIN EC PRIVATE KEY" 형식은 공개 키를 함께 가지고 있음
+        return converter.getKeyPair(pemKeyPair);
+      } else if (object instanceof PrivateKeyInfo privateKeyInfo) {
+        PrivateKey privateKey = converter.getPrivateKey(privateKeyInfo);
+        return new KeyPair(derivePublicKey(privateKeyInfo, privateKey), privateKey);
+      } else if (object instanceof SubjectPublicKeyInfo publicKeyInfo) {
+        return new KeyPair(converter.getPublicKey(publicKeyInfo), null);
       } else if (object instanceof org.bouncycastle.pkcs.PKCS8EncryptedPrivateKeyInfo) {
-        throw new UnsupportedOperationException("암호화된 개인 키는 지원하지 않습니다");
+        throw new IllegalArgumentException("암호화된 개인 키는 지원하지 않습니다");
       } else {
-        throw new IllegalArgumentException("지원되지 않는 PEM 형식: " + object.getClass());
+        throw new IllegalArgumentException("지원되지 않는 PEM 형식: "
+            + (object == null ? "null" : object.getClass()));
       }
     }
   }
 
-  public static PublicKey extractPublicKeyFromPrivateKey(String privateKeyPath) throws Exception {
-    PrivateKey privateKey = loadPrivateKey(privateKeyPath);
+  /**
+   * PKCS#8 개인 키에서 공개 키를 계산하는 메서드
+   */
+  private static PublicKey derivePublicKey(PrivateKeyInfo privateKeyInfo, PrivateKey privateKey)
+      throws Exception {
     if (privateKey instanceof RSAPrivateCrtKey rsaKey) {
       RSAPublicKeySpec publicKeySpec = new RSAPublicKeySpec(
           rsaKey.getModulus(),
@@ -43,7 +86,29 @@ public class PemFileLoader {
       );
       return KeyFactory.getInstance("RSA").generatePublic(publicKeySpec);
     }
-    throw new IllegalArgumentException("RSA CRT 키가 아닙니다.");
+
+    if (privateKey instanceof ECPrivateKey ecKey) {
+      // 공개 키 Q = d * G
+      ECParameterSpec params = ecKey.getParams();
+      org.bouncycastle.math.ec.ECPoint q = EC5Util.convertSpec(params).getG()
+          .multiply(ecKey.getS())
+          .normalize();
+      ECPublicKeySpec publicKeySpec = new ECPublicKeySpec(
+          new ECPoint(q.getAffineXCoord().toBigInteger(), q.getAffineYCoord().toBigInteger()),
+          params
+      );
+      return KeyFactory.getInstance("EC").generatePublic(publicKeySpec);
+    }
+
+    if (EdECObjectIdentifiers.id_Ed25519.equals(privateKeyInfo.getPrivateKeyAlgorithm().getAlgorithm())) {
+      // Ed25519 개인 키는 32 byte seed 이며, 공개 키는 seed 로부터 계산
+      byte[] seed = ASN1OctetString.getInstance(privateKeyInfo.parsePrivateKey()).getOctets();
+      byte[] publicKey = new Ed25519PrivateKeyParameters(seed, 0).generatePublicKey().getEncoded();
+      return new JcaPEMKeyConverter().getPublicKey(new SubjectPublicKeyInfo(
+          new AlgorithmIdentifier(EdECObjectIdentifiers.id_Ed25519), publicKey));
+    }
+
+    throw new IllegalArgumentException("지원되지 않는 키 종류입니다: " + privateKey.getAlgorithm());
   }
 
 }
@@ -0,0 +1,27 @@
+package me.cocoblue.passkeysample.security;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * revoked_refresh_token 테이블의 키로 무엇을 저장할지 결정하는 모드.
+ * DIGEST 를 사용하면 최대 500자인 JWT 원문 대신 64자 SHA-256 값을 저장하므로, Primary Key Index 가 작아진다.
+ */
+public enum RevokedTokenKeyMode {
+  // JWT 원문을 그대로 저장 (기존 방식)
+  TOKEN {
+    @Override
+    public String keyOf(final String token) {
+      return token;
+    }
+  },
+  // JWT 의 SHA-256 Hex 값을 저장
+  DIGEST {
+    @Override
+    public String keyOf(final String token) {
+      return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+  };
+
+  public abstract String keyOf(String token);
+}
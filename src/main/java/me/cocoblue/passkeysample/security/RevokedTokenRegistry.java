@@ -0,0 +1,200 @@
+package me.cocoblue.passkeysample.security;
+
+import me.cocoblue.passkeysample.domain.auth.RevokedRefreshTokenRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Revoke 된 Refresh Token 조회 앞단의 Bloom Filter.
+ * 대부분의 Refresh Token 은 Revoke 되지 않았으므로, Bloom Filter 가 "없음" 이라고 답하면 DB 를 조회하지 않는다.
+ * "있을 수도 있음" 인 경우에만 RevokedRefreshTokenRepository 로 확인한다.
+ *
+ * <p>Bloom Filter 는 항목을 지울 수 없으므로, 만료된 토큰을 걸러내기 위해 주기적으로 전체를 다시 만든다.
+ * 다른 서버에서 Revoke 한 토큰은 짧은 주기의 증분 동기화로 반영한다.</p>
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenRegistry {
+  // 동기화 시각 비교에 사용하는 여유 시간 (서버 간 시계 오차, 늦게 Commit 되는 트랜잭션 대비)
+  private static final long SYNC_OVERLAP_SECONDS = 30;
+
+  private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.jwt.revoked-token-key-mode:TOKEN}")
+  private RevokedTokenKeyMode keyMode;
+  @Value("${app.jwt.revoked-token-filter.expected-insertions:100000}")
+  private int expectedInsertions;
+  @Value("${app.jwt.revoked-token-filter.false-positive-rate:0.01}")
+  private double falsePositiveRate;
+
+  private volatile BloomFilter<String> current;
+  // 재구성 중인 Filter. 재구성하는 동안 Revoke 된 토큰도 함께 기록하여 누락되지 않도록 한다.
+  private volatile BloomFilter<String> building;
+  private volatile LocalDateTime lastSyncedAt;
+
+  private Counter bloomNegative;
+  private Counter databaseHit;
+  private Counter falsePositive;
+
+  @PostConstruct
+  protected void init() {
+    bloomNegative = lookupCounter("bloom_negative");
+    databaseHit = lookupCounter("revoked");
+    falsePositive = lookupCounter("false_positive");
+    rebuild();
+  }
+
+  /**
+   * Refresh Token 이 Revoke 되었는지 확인하는 메서드
+   *
+   * @param token 확인할 Refresh Token
+   * @return Revoke 된 토큰이면 true
+   */
+  public boolean isRevoked(final String token) {
+    final String key = keyOf(token);
+    Lookup lookup = lookup(key);
+    if (lookup != Lookup.REVOKED && !key.equals(token)) {
+      // DIGEST 모드로 바꾸기 전에 원문으로 저장된 행은, 만료되어 삭제될 때까지 원문으로도 확인
+      lookup = lookup.combine(lookup(token));
+    }
+    // 키를 두 번 확인해도 Metric 은 호출 한 번에 한 번만 기록
+    lookup.counter(this).increment();
+    return lookup == Lookup.REVOKED;
+  }
+
+  /**
+   * revoked_refresh_token 테이블에 저장할 키를 반환하는 메서드
+   *
+   * @param token Refresh Token
+   * @return 설정된 RevokedTokenKeyMode 에 따른 키
+   */
+  public String keyOf(final String token) {
+    return keyMode.keyOf(token);
+  }
+
+  /**
+   * Revoke 된 토큰을 Bloom Filter 에 추가하는 메서드
+   * 트랜잭션 안에서 호출되면 Commit 이후에 한 번 더 추가하여, 그 사이에 재구성된 Filter 에도 반영되도록 한다.
+   *
+   * @param token Revoke 된 Refresh Token
+   */
+  public void markRevoked(final String token) {
+    final String key = keyOf(token);
+    put(key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          put(key);
+        }
+      });
+    }
+  }
+
+  private Lookup lookup(final String key) {
+    if (!current.mightContain(key)) {
+      return Lookup.BLOOM_NEGATIVE;
+    }
+    return revokedRefreshTokenRepository.findByToken(key) != null ? Lookup.REVOKED : Lookup.FALSE_POSITIVE;
+  }
+
+  /**
+   * 키 하나를 확인한 결과
+   * 뒤에 선언된 결과일수록 우선하며, 여러 키를 확인했을 때는 가장 우선하는 결과를 기록한다.
+   */
+  private enum Lookup {
+    BLOOM_NEGATIVE,
+    FALSE_POSITIVE,
+    REVOKED;
+
+    private Lookup combine(final Lookup other) {
+      return compareTo(other) >= 0 ? this : other;
+    }
+
+    private Counter counter(final RevokedTokenRegistry registry) {
+      return switch (this) {
+        case BLOOM_NEGATIVE -> registry.bloomNegative;
+        case FALSE_POSITIVE -> registry.falsePositive;
+        case REVOKED -> registry.databaseHit;
+      };
+    }
+  }
+
+  /**
+   * 만료되지 않은 Revoked Token 으로 Bloom Filter 를 새로 만드는 메서드
+   */
+  @Scheduled(fixedDelayString = "${app.jwt.revoked-token-filter.rebuild-interval:3600000}",
+      initialDelayString = "${app.jwt.revoked-token-filter.rebuild-interval:3600000}")
+  public synchronized void rebuild() {
+    final LocalDateTime startedAt = LocalDateTime.now();
+    final BloomFilter<String> next = newFilter();
+    building = next;
+    try {
+      final List<String> tokens = revokedRefreshTokenRepository.findTokensNotExpiredAt(startedAt);
+      tokens.forEach(next::put);
+      current = next;
+      lastSyncedAt = startedAt;
+      log.info("Revoked token bloom filter rebuilt. tokens: {}, key mode: {}, expected fpp: {}",
+          tokens.size(), keyMode, next.expectedFpp());
+    } catch (final RuntimeException ex) {
+      if (current == null) {
+        throw ex;
+      }
+      log.error("Failed to rebuild revoked token bloom filter. Keeping the current filter.", ex);
+    } finally {
+      building = null;
+    }
+  }
+
+  /**
+   * 마지막 동기화 이후 Revoke 된 토큰을 Bloom Filter 에 추가하는 메서드
+   * 여러 서버가 같은 DB 를 사용할 때, 다른 서버에서 Revoke 한 토큰을 반영한다.
+   */
+  @Scheduled(fixedDelayString = "${app.jwt.revoked-token-filter.sync-interval:5000}")
+  public synchronized void sync() {
+    final LocalDateTime startedAt = LocalDateTime.now();
+    try {
+      revokedRefreshTokenRepository
+          .findTokensRevokedSince(lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS))
+          .forEach(current::put);
+      lastSyncedAt = startedAt;
+    } catch (final RuntimeException ex) {
+      log.error("Failed to sync revoked token bloom filter.", ex);
+    }
+  }
+
+  private void put(final String key) {
+    current.put(key);
+    final BloomFilter<String> rebuilding = building;
+    if (rebuilding != null) {
+      rebuilding.put(key);
+    }
+  }
+
+  private BloomFilter<String> newFilter() {
+    return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+        expectedInsertions, falsePositiveRate);
+  }
+
+  private Counter lookupCounter(final String result) {
+    return Counter.builder("jwt.revoked_token.lookup")
+        .description("Revoked refresh token lookups by result")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
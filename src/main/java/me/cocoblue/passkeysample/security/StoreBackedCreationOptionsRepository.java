@@ -0,0 +1,33 @@
+package me.cocoblue.passkeysample.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.springframework.security.web.webauthn.api.PublicKeyCredentialCreationOptions;
+import org.springframework.security.web.webauthn.registration.PublicKeyCredentialCreationOptionsRepository;
+
+/**
+ * 패스키 등록용 Options 를 HttpSession 대신 WebAuthnOptionsStore 에 보관하는 Repository
+ */
+public class StoreBackedCreationOptionsRepository
+    extends WebAuthnOptionsHandleRepository<PublicKeyCredentialCreationOptions>
+    implements PublicKeyCredentialCreationOptionsRepository {
+
+  public static final String COOKIE_NAME = "WEBAUTHN_CREATION_OPTIONS";
+
+  public StoreBackedCreationOptionsRepository(final WebAuthnOptionsStore store, final byte[] secret,
+      final Duration ttl) {
+    super(COOKIE_NAME, PublicKeyCredentialCreationOptions.class, store, secret, ttl);
+  }
+
+  @Override
+  public void save(final HttpServletRequest request, final HttpServletResponse response,
+      final PublicKeyCredentialCreationOptions options) {
+    doSave(request, response, options);
+  }
+
+  @Override
+  public PublicKeyCredentialCreationOptions load(final HttpServletRequest request) {
+    return doLoad(request);
+  }
+}
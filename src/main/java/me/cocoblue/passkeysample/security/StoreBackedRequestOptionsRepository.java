@@ -0,0 +1,33 @@
+package me.cocoblue.passkeysample.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.springframework.security.web.webauthn.api.PublicKeyCredentialRequestOptions;
+import org.springframework.security.web.webauthn.authentication.PublicKeyCredentialRequestOptionsRepository;
+
+/**
+ * 패스키 로그인용 Options 를 HttpSession 대신 WebAuthnOptionsStore 에 보관하는 Repository
+ */
+public class StoreBackedRequestOptionsRepository
+    extends WebAuthnOptionsHandleRepository<PublicKeyCredentialRequestOptions>
+    implements PublicKeyCredentialRequestOptionsRepository {
+
+  public static final String COOKIE_NAME = "WEBAUTHN_REQUEST_OPTIONS";
+
+  public StoreBackedRequestOptionsRepository(final WebAuthnOptionsStore store, final byte[] secret,
+      final Duration ttl) {
+    super(COOKIE_NAME, PublicKeyCredentialRequestOptions.class, store, secret, ttl);
+  }
+
+  @Override
+  public void save(final HttpServletRequest request, final HttpServletResponse response,
+      final PublicKeyCredentialRequestOptions options) {
+    doSave(request, response, options);
+  }
+
+  @Override
+  public PublicKeyCredentialRequestOptions load(final HttpServletRequest request) {
+    return doLoad(request);
+  }
+}
@@ -0,0 +1,39 @@
+package me.cocoblue.passkeysample.security;
+
+import me.cocoblue.passkeysample.domain.user.UserRole;
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+
+/**
+ * 서명 검증이 끝난 JWT 의 내용.
+ * JwtTokenFilter 에서 한 번만 파싱한 뒤, Request Attribute 로 Controller 에 전달한다.
+ *
+ * @param subject    사용자 ID
+ * @param expiration 만료 시간
+ * @param action     임시 인증 토큰의 작업 유형 (Access / Refresh Token 인 경우 null)
+ * @param email      Access Token 에 담긴 사용자 이메일 (이전에 발급된 토큰이면 null)
+ * @param role       Access Token 에 담긴 사용자 권한 (이전에 발급된 토큰이면 null)
+ */
+public record VerifiedToken(String subject, Date expiration, TempTokenActionKey action,
+                            String email, UserRole role) {
+
+  /** Controller 에서 @RequestAttribute 로 꺼내 쓰는 이름 */
+  public static final String REQUEST_ATTRIBUTE = "verifiedToken";
+
+  public static VerifiedToken from(final Claims claims) {
+    final String action = claims.get("action", String.class);
+    final String role = claims.get("role", String.class);
+    return new VerifiedToken(
+        claims.getSubject(),
+        claims.getExpiration(),
+        action == null ? null : TempTokenActionKey.valueOf(action),
+        claims.get("email", String.class),
+        role == null ? null : UserRole.valueOf(role)
+    );
+  }
+
+  /** DB 조회 없이 Principal 을 만들 수 있을 만큼의 Claim 이 있는지 여부 */
+  public boolean hasPrincipalClaims() {
+    return email != null && role != null;
+  }
+}
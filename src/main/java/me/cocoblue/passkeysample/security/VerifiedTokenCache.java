@@ -0,0 +1,89 @@
+package me.cocoblue.passkeysample.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서명 검증이 끝난 Access Token 을 보관하는 캐시.
+ * 같은 토큰이 만료 전까지 반복해서 들어오므로, 매 요청마다 RS256 서명 검증을 다시 하지 않도록 한다.
+ * 토큰 원문 대신 SHA-256 해시를 키로 사용하며, 각 항목은 토큰의 exp 까지만 유효하다.
+ *
+ * @see JwtTokenFilter
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.jwt.verification-cache.enabled:true}")
+  private boolean enabled;
+  @Value("${app.jwt.verification-cache.maximum-size:10000}")
+  private long maximumSize;
+  @Value("${app.jwt.expiration.access}")
+  private Long jwtAccessTokenExpirationTime;
+
+  private Cache<String, VerifiedToken> cache;
+
+  @PostConstruct
+  protected void init() {
+    cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        // Access Token 은 발급 후 이 시간이 지나면 반드시 만료되므로, 항목 수명의 상한으로 사용
+        .expireAfterWrite(Duration.ofMillis(jwtAccessTokenExpirationTime))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt_verification");
+    log.info("JWT verification cache enabled: {}, maximumSize: {}", enabled, maximumSize);
+  }
+
+  /**
+   * 캐시에 검증 결과가 있으면 그대로 반환하고, 없으면 verifier 로 검증한 뒤 캐시에 저장한다.
+   * 검증에 실패하면 verifier 가 던진 예외가 그대로 전달되며, 실패한 결과는 저장하지 않는다.
+   *
+   * @param token    검증할 토큰
+   * @param verifier 실제 서명 검증을 수행하는 함수
+   * @return 검증된 토큰의 내용
+   */
+  public VerifiedToken get(final String token, final Function<String, VerifiedToken> verifier) {
+    if (!enabled || token == null) {
+      return verifier.apply(token);
+    }
+
+    final String key = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    final VerifiedToken cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (isNotExpired(cached)) {
+        return cached;
+      }
+      // exp 가 지난 토큰은 버리고, 다시 검증하여 만료 예외가 발생하도록 한다.
+      cache.invalidate(key);
+    }
+
+    final VerifiedToken verified = verifier.apply(token);
+    if (isNotExpired(verified)) {
+      cache.put(key, verified);
+    }
+    return verified;
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private boolean isNotExpired(final VerifiedToken token) {
+    return token.expiration() != null && token.expiration().getTime() > System.currentTimeMillis();
+  }
+}
@@ -0,0 +1,133 @@
+package me.cocoblue.passkeysample.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+
+/**
+ * WebAuthn Options 를 WebAuthnOptionsStore 에 저장하고, 그 위치(Handle)를 서명된 Cookie 로 전달하는 공통 구현
+ * Cookie 값은 "임의의 Handle.HMAC-SHA256(Handle)" 형식이며, 서명이 맞지 않는 Cookie 는 저장소를 조회하지 않고 무시한다.
+ *
+ * @param <T> Options 타입 (인증용 또는 등록용)
+ */
+abstract class WebAuthnOptionsHandleRepository<T> {
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final String cookieName;
+  private final Class<T> optionsType;
+  private final WebAuthnOptionsStore store;
+  private final SecretKeySpec secretKey;
+  private final Duration ttl;
+
+  protected WebAuthnOptionsHandleRepository(final String cookieName, final Class<T> optionsType,
+      final WebAuthnOptionsStore store, final byte[] secret, final Duration ttl) {
+    this.cookieName = cookieName;
+    this.optionsType = optionsType;
+    this.store = store;
+    this.secretKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    this.ttl = ttl;
+  }
+
+  /**
+   * options 가 null 이면 저장된 Options 와 Cookie 를 삭제한다.
+   */
+  protected void doSave(final HttpServletRequest request, final HttpServletResponse response,
+      final T options) {
+    final String existingHandle = readHandle(request);
+    if (existingHandle != null) {
+      store.remove(storeKey(existingHandle));
+    }
+
+    if (options == null) {
+      writeCookie(request, response, "", Duration.ZERO);
+      return;
+    }
+
+    final byte[] random = new byte[32];
+    RANDOM.nextBytes(random);
+    final String handle = ENCODER.encodeToString(random);
+    store.put(storeKey(handle), options, ttl);
+    writeCookie(request, response, handle + "." + sign(handle), ttl);
+  }
+
+  protected T doLoad(final HttpServletRequest request) {
+    final String handle = readHandle(request);
+    if (handle == null) {
+      return null;
+    }
+
+    final Object options = store.get(storeKey(handle));
+    return optionsType.isInstance(options) ? optionsType.cast(options) : null;
+  }
+
+  private String readHandle(final HttpServletRequest request) {
+    final Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return null;
+    }
+
+    for (Cookie cookie : cookies) {
+      if (!cookieName.equals(cookie.getName())) {
+        continue;
+      }
+
+      final String value = cookie.getValue();
+      final int separator = value == null ? -1 : value.indexOf('.');
+      if (separator <= 0) {
+        return null;
+      }
+
+      final String handle = value.substring(0, separator);
+      final byte[] signature;
+      try {
+        signature = DECODER.decode(value.substring(separator + 1));
+      } catch (IllegalArgumentException ex) {
+        return null;
+      }
+      return MessageDigest.isEqual(signature, mac(handle)) ? handle : null;
+    }
+    return null;
+  }
+
+  private void writeCookie(final HttpServletRequest request, final HttpServletResponse response,
+      final String value, final Duration maxAge) {
+    final ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+        .httpOnly(true)
+        .secure(request.isSecure())
+        .path("/")
+        .maxAge(maxAge)
+        .sameSite("Strict")
+        .build();
+    response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+  }
+
+  private String storeKey(final String handle) {
+    return cookieName + ":" + handle;
+  }
+
+  private String sign(final String handle) {
+    return ENCODER.encodeToString(mac(handle));
+  }
+
+  private byte[] mac(final String handle) {
+    try {
+      final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secretKey);
+      return mac.doFinal(handle.getBytes(StandardCharsets.US_ASCII));
+    } catch (Exception ex) {
+      throw new IllegalStateException("Failed to sign WebAuthn options handle", ex);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package me.cocoblue.passkeysample.security;
+
+import java.time.Duration;
+
+/**
+ * WebAuthn 인증, 등록 과정에서 발급한 Options (Challenge 포함) 를 보관하는 저장소
+ * HttpSession 대신 사용하며, Redis 등 여러 서버가 공유하는 저장소로 구현하여 Bean 으로 등록하면
+ * 기본 구현인 InMemoryWebAuthnOptionsStore 대신 사용된다.
+ */
+public interface WebAuthnOptionsStore {
+
+  void put(String key, Object options, Duration ttl);
+
+  /**
+   * @return 저장된 Options. 없거나 만료되었으면 null
+   */
+  Object get(String key);
+
+  void remove(String key);
+}
@@ -1,29 +1,41 @@
 package me.cocoblue.passkeysample.security;
 
+import me.cocoblue.passkeysample.dto.ApiResponse;
+import me.cocoblue.passkeysample.dto.ApiResultCode;
+import me.cocoblue.passkeysample.dto.auth.AuthResp;
+import me.cocoblue.passkeysample.service.auth.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 
+/**
+ * 패스키 인증이 끝나면 세션을 만들지 않고 바로 Access Token, Refresh Token 을 발급하는 Handler
+ * app.webauthn.stateless-login=true 일 때 WebAuthnAuthenticationFilter 에 연결된다.
+ * 응답 형식은 /api/auth/login/passkey 와 같다.
+ */
 @Log4j2
 @Component
 @RequiredArgsConstructor
 public class WebAuthnSuccessHandler implements AuthenticationSuccessHandler {
 
-  private final JwtTokenProvider jwtProvider;
+  private final AuthService authService;
   private final ObjectMapper objectMapper;
 
+  @Value("${app.jwt.expiration.refresh}")
+  private Long jwtRefreshTokenExpirationTime;
+
   @Override
   public void onAuthenticationSuccess(
       HttpServletRequest request,
@@ -33,30 +45,24 @@ public class WebAuthnSuccessHandler implements AuthenticationSuccessHandler {
 
     log.debug("WebAuthn Authentication Success");
 
-    // 1. JWT 토큰 생성
-    String accessToken = jwtProvider.generateAccessToken(authentication);
-    String refreshToken = jwtProvider.generateRefreshToken(authentication);
-
-    // 2. 응답 헤더 설정
-    response.setHeader("Authorization", "Bearer " + accessToken);
+    // 1. JWT 토큰 생성 (패스키 인증의 Principal 이름은 사용자 이메일)
+    final AuthResp responseDto = authService.loginByPassKey(authentication.getName());
 
-    // 3. Refresh Token을 HTTP Only 쿠키로 설정
-    ResponseCookie cookie = ResponseCookie.from("refreshToken", refreshToken)
+    // 2. Refresh Token을 HTTP Only 쿠키로 설정
+    ResponseCookie cookie = ResponseCookie.from("refreshToken", responseDto.refreshToken())
         .httpOnly(true)
-        .secure(true)
-        .sameSite("Strict")
         .path("/")
-        .maxAge(Duration.ofDays(30))
+        .maxAge(Duration.ofMillis(jwtRefreshTokenExpirationTime))
+        .sameSite("Strict")
         .build();
     response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
-    // 4. 기존 응답 유지 및 추가 정보 포함
-    Map<String, Object> responseBody = new HashMap<>();
-    responseBody.put("redirectUrl", "/");
-    responseBody.put("authenticated", true);
-    responseBody.put("user", authentication.getPrincipal()); // 사용자 정보 추가
-
+    // 3. Access Token 은 Body 로 전달
+    response.setStatus(HttpStatus.OK.value());
     response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-    objectMapper.writeValue(response.getWriter(), responseBody);
+    objectMapper.writeValue(response.getWriter(), ApiResponse.<AuthResp>builder()
+        .result(ApiResultCode.SUCCESS)
+        .data(responseDto)
+        .build());
   }
 }
@@ -7,8 +7,11 @@ import me.cocoblue.passkeysample.domain.user.UserRepository;
 import me.cocoblue.passkeysample.dto.auth.AuthResp;
 import me.cocoblue.passkeysample.dto.auth.LoginReq;
 import me.cocoblue.passkeysample.dto.auth.UptimeUserDetails;
-import me.cocoblue.passkeysample.exception.auth.InvalidTokenException;
+import me.cocoblue.passkeysample.exception.auth.PasswordHashingBusyException;
 import me.cocoblue.passkeysample.security.JwtTokenProvider;
+import me.cocoblue.passkeysample.security.RevokedTokenRegistry;
+import me.cocoblue.passkeysample.security.VerifiedToken;
+import me.cocoblue.passkeysample.service.user.UserService;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
@@ -17,7 +20,6 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,19 +28,25 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AuthService {
   private final UserRepository userRepository;
+  private final UserService userService;
+  private final CustomUserDetailsService customUserDetailsService;
   private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
   private final JwtTokenProvider jwtTokenProvider;
+  private final RevokedTokenRegistry revokedTokenRegistry;
 
-  /** 로그인 */
-  @Transactional
+  /**
+   * 로그인
+   * 비밀번호 Hashing 은 오래 걸리므로, DB Connection 을 잡고 있지 않도록 트랜잭션 밖에서 확인한다.
+   */
   public AuthResp login(final LoginReq requestDto) {
     // CHECK USERNAME AND PASSWORD
     final UserEntity userEntity = this.userRepository.findByEmail(requestDto.email()).orElseThrow(
         () -> new UsernameNotFoundException("해당 유저를 찾을 수 없습니다. email = " + requestDto.email()));
-    if (!passwordEncoder.matches(requestDto.password(), userEntity.getPassword())) {
+    if (!passwordHashingService.matches(requestDto.password(), userEntity.getPassword())) {
       throw new IllegalArgumentException("비밀번호가 일치하지 않습니다. email = " + requestDto.email());
     }
+    upgradePasswordHash(userEntity, requestDto.password());
 
     // GENERATE ACCESS_TOKEN AND REFRESH_TOKEN
     final String accessToken = this.jwtTokenProvider.generateAccessToken(
@@ -52,6 +60,27 @@ public class AuthService {
         .build();
   }
 
+  /**
+   * 저장된 비밀번호 Hash 가 현재 설정보다 약하면, 로그인에 성공한 비밀번호로 다시 Hashing 하여 저장하는 메서드
+   * 다시 Hashing 하지 못해도 (Hashing Queue 가 가득 찬 경우 등) 로그인은 계속 진행하고, 다음 로그인 때 다시 시도한다.
+   * Hashing 이 끝난 뒤 비밀번호 변경과 같은 경로로 저장하고 사용자 Cache 를 비운다.
+   */
+  private void upgradePasswordHash(final UserEntity userEntity, final String rawPassword) {
+    if (!passwordHashingService.upgradeEncoding(userEntity.getPassword())) {
+      return;
+    }
+
+    try {
+      final String upgradedPassword = passwordHashingService.encode(rawPassword);
+      userService.updatePassword(userEntity.getId(), upgradedPassword);
+      customUserDetailsService.evictUserSnapshot(userEntity.getId());
+      userEntity.setPassword(upgradedPassword);
+      log.info("Password hash upgraded. userId: {}", userEntity.getId());
+    } catch (PasswordHashingBusyException e) {
+      log.info("Skipped password hash upgrade because hashing is busy. userId: {}", userEntity.getId());
+    }
+  }
+
   @Transactional
   public AuthResp loginByPassKey(final String email) {
     // CHECK USERNAME AND PASSWORD
@@ -74,19 +103,11 @@ public class AuthService {
   @Transactional
   public AuthResp refreshToken(final String providedRefreshToken) {
     log.debug("refreshToken request for refreshToken: {}", providedRefreshToken);
-    // 유효한 REFRESH_TOKEN 인지 확인
-    if (!this.jwtTokenProvider.validateToken(providedRefreshToken, true)) {
-      log.debug("This is not a valid refresh token");
-      throw new InvalidTokenException();
-    }
-
-    // Revoked 된 토큰인지 확인
-    if(revokedRefreshTokenRepository.findByToken(providedRefreshToken) != null) {
-      throw new InvalidTokenException();
-    }
+    // 유효한 REFRESH_TOKEN 인지 확인 (유효하지 않거나 Revoke 된 토큰이면 InvalidTokenException)
+    final VerifiedToken verifiedRefreshToken = this.jwtTokenProvider.verifyToken(providedRefreshToken, true);
 
     // REFRESH_TOKEN 으로부터 USER_ID 를 추출
-    final String userId = this.jwtTokenProvider.getUserIdFromRefreshToken(providedRefreshToken);
+    final String userId = verifiedRefreshToken.subject();
     final UserEntity userEntity = this.userRepository.findById(userId).orElseThrow(
         () -> new UsernameNotFoundException("해당 유저를 찾을 수 없습니다."));
 
@@ -112,27 +133,26 @@ public class AuthService {
    *
    * @param token REVOKE 할 REFRESH_TOKEN
    */
-  @CachePut(value = "revoked_tokens", key = "#token")
+  @CachePut(value = "revoked_tokens", key = "#result.token")
   @Transactional
   public RevokedRefreshTokenEntity revokeRefreshToken(final String token) {
-    // 유효한 REFRESH_TOKEN 인지 확인
-    if (!this.jwtTokenProvider.validateToken(token, true)) {
-      throw new InvalidTokenException();
-    }
+    // 유효한 REFRESH_TOKEN 인지 확인 (유효하지 않으면 InvalidTokenException)
+    final VerifiedToken verifiedToken = this.jwtTokenProvider.verifyToken(token, true);
 
     // Token 만료 시간 추출
-    final Date tokenExpiredAtDate = this.jwtTokenProvider.getExpirationFromToken(token, true);
+    final Date tokenExpiredAtDate = verifiedToken.expiration();
     final LocalDateTime tokenExpiredAt = tokenExpiredAtDate.toInstant()
         .atZone(ZoneId.systemDefault())
         .toLocalDateTime();
 
     // Token REVOKE
     final RevokedRefreshTokenEntity revokedRefreshTokenEntity = RevokedRefreshTokenEntity.builder()
-        .token(token)
+        .token(this.revokedTokenRegistry.keyOf(token))
         .originalExpiredAt(tokenExpiredAt)
         .build();
 
     this.revokedRefreshTokenRepository.save(revokedRefreshTokenEntity);
+    this.revokedTokenRegistry.markRevoked(token);
     log.info("Token Revoked Successfully.");
     return revokedRefreshTokenEntity;
   }
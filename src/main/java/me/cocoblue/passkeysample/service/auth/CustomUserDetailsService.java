@@ -3,18 +3,36 @@ package me.cocoblue.passkeysample.service.auth;
 import me.cocoblue.passkeysample.domain.user.UserEntity;
 import me.cocoblue.passkeysample.domain.user.UserRepository;
 import me.cocoblue.passkeysample.dto.auth.UptimeUserDetails;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
+  // JwtTokenFilter 가 여전히 DB 를 조회해야 하는 경우를 위한 짧은 수명의 사용자 스냅샷 (app.cache.specs 로 크기, 만료 시간 설정)
+  public static final String USER_SNAPSHOT_CACHE_NAME = "user_snapshots";
+
   private final UserRepository userRepository;	// 별도로 생성해야 함
+  private final CacheManager cacheManager;
+
+  private Cache userSnapshots;
+
+  @PostConstruct
+  protected void init() {
+    userSnapshots = cacheManager.getCache(USER_SNAPSHOT_CACHE_NAME);
+    Assert.notNull(userSnapshots, "Cache '" + USER_SNAPSHOT_CACHE_NAME + "' is not configured");
+  }
 
   @Override
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -25,8 +43,34 @@ public class CustomUserDetailsService implements UserDetailsService {
 
   public UserDetails loadUserById(String userId) throws IllegalArgumentException {
     log.debug("CustomUserDetailsService.loadUserById Called. Id: {}", userId);
+    final UptimeUserDetails cached = userSnapshots.get(userId, UptimeUserDetails.class);
+    if (cached != null) {
+      return cached;
+    }
+
     UserEntity user = userRepository.findById(userId).orElseThrow(
         () -> new IllegalArgumentException("해당 유저가 존재하지 않습니다. user_id = " + userId));
-    return new UptimeUserDetails(user);
+    final UptimeUserDetails userDetails = new UptimeUserDetails(user);
+    userSnapshots.put(userId, userDetails);
+    return userDetails;
+  }
+
+  /**
+   * 사용자 정보가 변경되었을 때, 캐시된 스냅샷을 제거하는 메서드
+   * 트랜잭션 안에서 호출되면 Commit 된 뒤에도 한 번 더 제거하여,
+   * Commit 전에 다른 요청이 이전 값을 다시 캐시하는 경우를 막는다.
+   *
+   * @param userId 변경된 사용자의 ID
+   */
+  public void evictUserSnapshot(String userId) {
+    userSnapshots.evict(userId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          userSnapshots.evict(userId);
+        }
+      });
+    }
   }
-}
\ No newline at end of file
+}
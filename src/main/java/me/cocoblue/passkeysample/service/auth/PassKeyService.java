@@ -8,15 +8,20 @@ import me.cocoblue.passkeysample.dto.ApiResponse;
 import me.cocoblue.passkeysample.dto.ApiResultCode;
 import me.cocoblue.passkeysample.dto.passkey.PassKeyListResp;
 import me.cocoblue.passkeysample.dto.passkey.PassKeyUpdateReq;
+import me.cocoblue.passkeysample.security.PassKeyCustomUserCredentialRepository;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * PassKey 관련 서비스 클래스<br>
@@ -31,21 +36,14 @@ import org.springframework.stereotype.Service;
 public class PassKeyService {
     private final PasskeyRecordsRepository passkeyRecordsRepository;
     private final PasskeyUserRepository passkeyUserRepository;
+    private final CacheManager cacheManager;
 
     public List<PassKeyListResp> getPassKeyList(final String userId) {
         log.debug("getPassKeyList: userId={}", userId);
 
-        final Optional<PasskeyUserEntity> passkeyUserEntity = passkeyUserRepository.findByUserId_Id(
-            userId);
-        // PassKey를 생성하지 않은 유저인 경우, 빈 리스트를 return
-        if (passkeyUserEntity.isEmpty()) {
-            log.info("PasskeyUserEntity is not found. userId: {}", userId);
-            return List.of();
-        }
-        final String passKeyUserId = passkeyUserEntity.get().getPassKeyUserId();
-
-        final List<PassKeyListResp> credentialRecords = this.passkeyRecordsRepository.findByUserId(
-                passKeyUserId)
+        // passkey_users 와 Join 하여 한 번의 Query 로 조회. PassKey 를 생성하지 않은 유저는 빈 리스트
+        final List<PassKeyListResp> credentialRecords = this.passkeyRecordsRepository.findListRowsByOwnerUserId(
+                userId)
             .stream()
             .map(PassKeyListResp::new)
             .collect(Collectors.toList());
@@ -68,9 +66,10 @@ public class PassKeyService {
             return errorResponse;
         }
 
-        // 라벨 업데이트
-        passkeyRecordsEntityOptional.get().setLabel(request.name());
-        passkeyRecordsRepository.save(passkeyRecordsEntityOptional.get());
+        // 라벨 컬럼만 업데이트 (서명 횟수, 마지막 사용일은 PasskeyUsageWriteBehindBuffer 가 따로 반영)
+        passkeyRecordsRepository.updateLabelByUuid(request.uuid(), request.name());
+        final String credentialId = passkeyRecordsEntityOptional.get().getCredentialId();
+        afterCommit(() -> evictCredentialCache(credentialId));
 
         return ResponseEntity
             .status(HttpStatus.OK)
@@ -93,12 +92,63 @@ public class PassKeyService {
 
         // Passkey 삭제
         passkeyRecordsRepository.delete(passkeyRecordsEntityOptional.get());
+        final String credentialId = passkeyRecordsEntityOptional.get().getCredentialId();
+        final String passKeyUserId = passkeyRecordsEntityOptional.get().getUserId();
+        afterCommit(() -> {
+            evictCredentialCache(credentialId);
+            evictDescriptorCache(passKeyUserId);
+        });
 
         return ResponseEntity
             .status(HttpStatus.OK)
             .build();
     }
 
+    /**
+     * 트랜잭션이 Commit 된 뒤에 실행하는 메소드 (트랜잭션 밖이면 바로 실행)<br>
+     * Commit 전에 Cache 를 지우면, 그 사이 다른 요청이 이전 값을 다시 Cache 할 수 있다.
+     *
+     * @param action Commit 후 실행할 작업
+     */
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 패스키 인증에 사용하는 CredentialRecord Cache 에서 해당 패스키를 제거하는 메소드
+     *
+     * @param credentialId 변경된 패스키의 Credential ID
+     */
+    private void evictCredentialCache(final String credentialId) {
+        final Cache credentialCache = cacheManager.getCache(
+            PassKeyCustomUserCredentialRepository.CREDENTIAL_CACHE_NAME);
+        if (credentialCache != null) {
+            credentialCache.evict(credentialId);
+        }
+    }
+
+    /**
+     * 등록 Options 의 excludeCredentials 를 만드는 Cache 에서 해당 사용자를 제거하는 메소드
+     *
+     * @param passKeyUserId 변경된 패스키의 User Handle (Base64URL)
+     */
+    private void evictDescriptorCache(final String passKeyUserId) {
+        final Cache descriptorCache = cacheManager.getCache(
+            PassKeyCustomUserCredentialRepository.DESCRIPTOR_CACHE_NAME);
+        if (descriptorCache != null) {
+            descriptorCache.evict(passKeyUserId);
+        }
+    }
+
     /**
      * 요청이 유효한지 확인하는 메소드<br>
      * 1. 실제로 있는 유저, 패스키인지 확인<br>
@@ -0,0 +1,120 @@
+package me.cocoblue.passkeysample.service.auth;
+
+import me.cocoblue.passkeysample.domain.auth.PasskeyRecordsRepository;
+import me.cocoblue.passkeysample.domain.auth.PasskeyTextColumnsRow;
+import me.cocoblue.passkeysample.security.PasskeyStorageMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Base64;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base64URL TEXT 로 저장된 패스키를 Binary 컬럼으로 옮기는 Service
+ * app.passkey.storage-mode 가 BINARY 일 때만 동작하며, 일정 개수씩 나누어 각각의 트랜잭션으로 옮긴다.
+ * 옮기는 도중에도 읽기는 Binary 컬럼이 비어있으면 TEXT 컬럼을 사용하므로 중단 없이 진행할 수 있다.
+ *
+ * <p>Entity 를 저장하면 PasskeyUsageWriteBehindBuffer 가 그 사이에 반영한 signature_count / last_used 를
+ * 조회 시점의 값으로 덮어쓰므로, 패스키 값 컬럼만 UPDATE 한다.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PasskeyBinaryMigrationService {
+  // 이미 Binary 값이 있는 Attestation 컬럼은 유지하고, 그 사이 다른 곳에서 옮긴 행은 건드리지 않음
+  private static final String MIGRATE_SQL = "UPDATE passkey_records"
+      + " SET public_key_bin = ?, public_key = NULL,"
+      + " attestation_object_bin = COALESCE(attestation_object_bin, ?), attestation_object = NULL,"
+      + " attestation_client_data_json_bin = COALESCE(attestation_client_data_json_bin, ?),"
+      + " attestation_client_data_json = NULL"
+      + " WHERE credential_id = ? AND public_key_bin IS NULL";
+
+  private final PasskeyRecordsRepository passkeyRecordsRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.passkey.storage-mode:TEXT}")
+  private PasskeyStorageMode storageMode;
+  @Value("${app.passkey.binary-migration.enabled:true}")
+  private boolean enabled;
+  @Value("${app.passkey.binary-migration.batch-size:200}")
+  private int batchSize;
+  // Rolling 배포 중에는 TEXT 방식 서버가 계속 TEXT 로 저장하므로, 이 시간 동안 옮길 행이 없을 때만 작업을 멈춤
+  @Value("${app.passkey.binary-migration.quiet-period:3600000}")
+  private long quietPeriod;
+
+  private TransactionTemplate transactionTemplate;
+  private Counter migratedRows;
+  // 마지막으로 옮길 행을 발견한 시각 (서버 시작 시각부터 셈)
+  private volatile long lastFoundAt;
+  // quietPeriod 동안 옮길 행이 없으면 다음 실행부터는 조회하지 않음
+  private volatile boolean completed;
+
+  @PostConstruct
+  protected void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    migratedRows = Counter.builder("passkey.storage.migrated")
+        .description("Passkey records moved from Base64URL text columns to binary columns")
+        .register(meterRegistry);
+    lastFoundAt = System.currentTimeMillis();
+  }
+
+  @Scheduled(fixedDelayString = "${app.passkey.binary-migration.interval:60000}",
+      initialDelayString = "${app.passkey.binary-migration.interval:60000}")
+  public void migrate() {
+    if (completed || !enabled || storageMode != PasskeyStorageMode.BINARY) {
+      return;
+    }
+
+    int total = 0;
+    while (true) {
+      final Integer migrated = transactionTemplate.execute(status -> migrateBatch());
+      final int count = migrated == null ? 0 : migrated;
+      total += count;
+      migratedRows.increment(count);
+
+      if (count < batchSize) {
+        break;
+      }
+    }
+
+    final long now = System.currentTimeMillis();
+    if (total > 0) {
+      log.info("Moved {} passkey records to binary columns.", total);
+      lastFoundAt = now;
+    } else if (now - lastFoundAt >= quietPeriod) {
+      log.info("No passkey records left in text columns for {} ms. Stopping binary migration.", quietPeriod);
+      completed = true;
+    }
+  }
+
+  private int migrateBatch() {
+    final List<PasskeyTextColumnsRow> rows =
+        passkeyRecordsRepository.findTextStoredRecords(PageRequest.of(0, batchSize));
+    if (rows.isEmpty()) {
+      return 0;
+    }
+
+    jdbcTemplate.batchUpdate(MIGRATE_SQL, rows, rows.size(), (ps, row) -> {
+      ps.setBytes(1, decode(row.publicKey()));
+      ps.setBytes(2, decode(row.attestationObject()));
+      ps.setBytes(3, decode(row.attestationClientDataJSON()));
+      ps.setString(4, row.credentialId());
+    });
+    return rows.size();
+  }
+
+  private static byte[] decode(String base64Url) {
+    return base64Url == null ? null : Base64.getUrlDecoder().decode(base64Url);
+  }
+}
@@ -0,0 +1,118 @@
+package me.cocoblue.passkeysample.service.auth;
+
+import me.cocoblue.passkeysample.exception.auth.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * 비밀번호 Hashing (encode, matches) 을 전용 Executor 에서 실행하는 Service
+ * 동시에 Hashing 하는 수를 Pool 크기로 제한하여, 로그인이 몰려도 다른 API 가 쓸 CPU 를 남겨둔다.
+ * Queue 가 가득 찼거나 정해진 시간 안에 끝나지 않으면 PasswordHashingBusyException (503, Retry-After) 을 던진다.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+  private final PasswordEncoder passwordEncoder;
+  @Qualifier("passwordHashingExecutor")
+  private final ThreadPoolTaskExecutor passwordHashingExecutor;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.security.password-hashing.timeout:5000}")
+  private long timeout;
+  @Value("${app.security.password-hashing.retry-after:1}")
+  private long retryAfterSeconds;
+
+  private Timer encodeTimer;
+  private Timer matchesTimer;
+  private Timer queueWaitTimer;
+  private Counter rejected;
+
+  @PostConstruct
+  protected void init() {
+    encodeTimer = hashingTimer("encode");
+    matchesTimer = hashingTimer("matches");
+    queueWaitTimer = Timer.builder("password.hashing.queue.wait")
+        .description("Time a password hashing task waited in the queue before running")
+        .register(meterRegistry);
+    rejected = Counter.builder("password.hashing.rejected")
+        .description("Password hashing tasks rejected because the executor was saturated")
+        .register(meterRegistry);
+    Gauge.builder("password.hashing.queue.depth", passwordHashingExecutor,
+            executor -> executor.getThreadPoolExecutor().getQueue().size())
+        .description("Password hashing tasks waiting in the queue")
+        .register(meterRegistry);
+  }
+
+  private Timer hashingTimer(String operation) {
+    return Timer.builder("password.hashing")
+        .description("Time spent hashing or verifying a password")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+
+  public String encode(final CharSequence rawPassword) {
+    return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+  }
+
+  public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+    return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * 저장된 Hash 가 현재 설정보다 약한 알고리즘, 비용인지 확인하는 메서드
+   * Hash 문자열만 확인하므로 Executor 를 거치지 않는다.
+   */
+  public boolean upgradeEncoding(final String encodedPassword) {
+    return passwordEncoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T execute(final Timer timer, final Callable<T> task) {
+    final long submittedAt = System.nanoTime();
+    final Future<T> future;
+    try {
+      future = passwordHashingExecutor.submit(() -> {
+        queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        return timer.recordCallable(task);
+      });
+    } catch (TaskRejectedException e) {
+      rejected.increment();
+      log.warn("Password hashing queue is full. Rejecting the request.");
+      throw new PasswordHashingBusyException(retryAfterSeconds);
+    }
+
+    try {
+      return future.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      log.warn("Password hashing did not finish within {} ms.", timeout);
+      throw new PasswordHashingBusyException(retryAfterSeconds);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingBusyException(retryAfterSeconds);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
@@ -9,22 +9,28 @@ import me.cocoblue.passkeysample.dto.profile.UpdatePasswordReq;
 import me.cocoblue.passkeysample.dto.profile.UpdateProfileReq;
 import me.cocoblue.passkeysample.security.JwtTokenProvider;
 import me.cocoblue.passkeysample.security.TempTokenActionKey;
+import me.cocoblue.passkeysample.security.VerifiedToken;
 import me.cocoblue.passkeysample.service.common.S3Service;
 import me.cocoblue.passkeysample.service.user.UserService;
 import me.cocoblue.passkeysample.util.ImageUtil;
+import me.cocoblue.passkeysample.util.ProfileImageVariants;
 import jakarta.transaction.Transactional;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,9 +46,14 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class ProfileService {
   private final JwtTokenProvider jwtTokenProvider;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
   private final S3Service s3Service;
   private final UserService userService;
+  private final CustomUserDetailsService customUserDetailsService;
+
+  // 만들 프로필 썸네일의 한 변 길이 목록 (px)
+  @Value("${app.file.thumbnail-sizes:64,128,256,512}")
+  private List<Integer> thumbnailSizes;
 
   /**
    * 현재 비밀번호와 입력한 비밀번호가 일치하는지 확인하고 결과를 반환하는 메서드
@@ -60,7 +71,7 @@ public class ProfileService {
     }
 
     final String encodedCurrentFromUserEntity = userEntity.getPassword();
-    boolean isMatch = passwordEncoder.matches(
+    boolean isMatch = passwordHashingService.matches(
         inputPassword,
         encodedCurrentFromUserEntity
     );
@@ -98,11 +109,12 @@ public class ProfileService {
    * @param passwordChangeAuthorizationToken 비밀번호 변경 인가 코드
    * @return 비밀번호 변경 결과
    */
-  @Transactional
+  // 비밀번호 Hashing 중 DB Connection 을 잡고 있지 않도록, 저장할 때만 짧은 트랜잭션을 사용
   public ResponseEntity<ApiResponse<?>> updatePassword(final UpdatePasswordReq request, final String currentUserId, final String passwordChangeAuthorizationToken) {
     // 인가 코드 유효성 확인 (인가 코드는 refresh token 과 동일한 키를 사용하여 생성)
-    final boolean isValidAuthorizationToken = jwtTokenProvider.validateToken(passwordChangeAuthorizationToken, true);
-    if(!isValidAuthorizationToken) {
+    // 유효하지 않으면 InvalidTokenException 이 발생하며, 한 번 파싱한 결과를 아래에서 재사용한다.
+    final VerifiedToken authorizationToken = jwtTokenProvider.verifyToken(passwordChangeAuthorizationToken, true);
+    if(authorizationToken.action() != TempTokenActionKey.UPDATE_PASSWORD) {
       log.info("Invalid passwordChangeAuthorizationToken. requested userId: {}", currentUserId);
       return ResponseEntity
           .status(HttpStatus.FORBIDDEN)
@@ -127,9 +139,7 @@ public class ProfileService {
       log.info("Password and PasswordConfirm are matched. requested userId: {}", currentUserId);
     }
 
-    final String userIdFromAuthorizationToken = jwtTokenProvider.getUserIdFromTempAuthorizationToken(
-        passwordChangeAuthorizationToken, TempTokenActionKey.UPDATE_PASSWORD
-    );
+    final String userIdFromAuthorizationToken = authorizationToken.subject();
     final UserEntity userEntity = userService.findUserEntityById(currentUserId);
     if(userEntity == null) {
       log.info("UserEntity is not found. requested userId: {}", currentUserId);
@@ -147,9 +157,9 @@ public class ProfileService {
           );
     }
 
-    final String encodedToUpdatePassword = passwordEncoder.encode(request.newPassword());
-    userEntity.setPassword(encodedToUpdatePassword);
-    userService.save(userEntity);
+    final String encodedToUpdatePassword = passwordHashingService.encode(request.newPassword());
+    userService.updatePassword(currentUserId, encodedToUpdatePassword);
+    customUserDetailsService.evictUserSnapshot(currentUserId);
     log.info("Password updated successfully. requested userId: {}", currentUserId);
 
     return ResponseEntity
@@ -181,6 +191,7 @@ public class ProfileService {
 
     if(userEntity.getProfileUrl() != null) {
       userEntity.setFullProfileUrl(userService.configureProfileURL(userEntity.getProfileUrl(), userEntity.getEmail()));
+      userEntity.setProfileImageSrcset(userService.configureProfileSrcset(userEntity));
     }
 
     return ResponseEntity
@@ -220,11 +231,11 @@ public class ProfileService {
         final String uploadedURL = uploadNewProfileImage(userEntity, newProfileImage);
         // 업로드가 정상적으로 완료되면, 기존 프로필 이미지를 삭제
         if(userEntity.getProfileUrl() != null) {
-          deleteOldProfileImage(userEntity.getProfileUrl());
-          deleteOldProfileImage(userEntity.getProfileUrl() + "_original");
+          deleteOldProfileImage(userEntity);
         }
 
         userEntity.setProfileUrl(uploadedURL);
+        userEntity.setProfileImageSizes(uploadedURL.isEmpty() ? null : ProfileImageVariants.toColumn(thumbnailSizes));
         log.debug("Profile Image uploaded successfully. profile url set as: {}", uploadedURL);
       } catch (IOException e) {
         log.info("Failed to upload new profile image.");
@@ -238,11 +249,11 @@ public class ProfileService {
       log.info("Profile delete request received.");
       // 프로필 이미지 삭제 요청이 들어온 경우, 기존 프로필 이미지를 삭제
       if(userEntity.getProfileUrl() != null) {
-        deleteOldProfileImage(userEntity.getProfileUrl());
-        deleteOldProfileImage(userEntity.getProfileUrl() + "_original");
+        deleteOldProfileImage(userEntity);
       }
 
       userEntity.setProfileUrl(null);
+      userEntity.setProfileImageSizes(null);
     }
 
     // Gravatar 사용 여부가 true인 경우, 프로필 이미지 주소를 변경
@@ -251,13 +262,13 @@ public class ProfileService {
       // 기존 프로필 이미지를 삭제
       if(userEntity.getProfileUrl() != null) {
         log.info("Delete old profile image.");
-        deleteOldProfileImage(userEntity.getProfileUrl());
-        deleteOldProfileImage(userEntity.getProfileUrl() + "_original");
+        deleteOldProfileImage(userEntity);
       }
 
       final String gravatarURL = userService.configureGravatarURL(userEntity.getEmail());
       log.info("The Gravatar URL is configured as: {}", gravatarURL);
       userEntity.setProfileUrl(gravatarURL);
+      userEntity.setProfileImageSizes(null);
     }
 
     // 이메일이 변경되었는데, Gravatar 사용 여부가 true인 경우, 프로필 이미지 주소를 변경
@@ -270,6 +281,7 @@ public class ProfileService {
     userEntity.setUseGravatar(request.useGravatar());
 
     userService.save(userEntity);
+    customUserDetailsService.evictUserSnapshot(currentUserId);
 
     return ResponseEntity
         .status(HttpStatus.OK)
@@ -281,7 +293,7 @@ public class ProfileService {
 
   /**
    * 새로운 프로필 이미지를 업로드하는 메서드
-   * Original 이미지와 Thumbnail 이미지를 생성하여 저장한다.
+   * Original 이미지와 app.file.thumbnail-sizes 크기별 Thumbnail 이미지를 생성하여 저장한다.
    *
    * @param userEntity 변경할 유저의 엔티티
    * @param newProfileImage 새로운 프로필 이미지
@@ -307,10 +319,10 @@ public class ProfileService {
     log.info("Profile image uploaded successfully as filename: {}", originalFileName);
 
     // 비동기로 처리되는 동안 Thumbnail 이미지를 생성 및 업로드
-    byte[] thumbnailWebP = null;
+    Map<Integer, byte[]> thumbnailWebPs = null;
     try {
-      // Original -> Thumbnail WEBP
-      thumbnailWebP = ImageUtil.processImage(newProfileImage, 512, 512);
+      // Original -> 크기별 Thumbnail WEBP
+      thumbnailWebPs = ImageUtil.processImage(newProfileImage, thumbnailSizes);
     } catch (IOException ioException) {
       log.info("Failed to process image file.");
       return "";
@@ -318,19 +330,28 @@ public class ProfileService {
 
     // Thumbnail 이미지 업로드 (확장자를 제거하고 업로드하여 S3의 versioning 이 가능하도록 함)
     final String thumbnailFileName = String.format("profile_%s_%s", userEntity.getId(), randomUUID);
-    final String thumbnailUploadURL = s3Service.uploadProfileResizedFile(thumbnailWebP, "/profile", thumbnailFileName);
+    final String thumbnailUploadURL = s3Service.uploadProfileThumbnails(thumbnailWebPs, "/profile", thumbnailFileName);
     log.info("Uploaded to S3 as full key: {}", thumbnailFileName);
     log.info("thumbnailUploadURL: {}", thumbnailUploadURL);
     log.info("Profile image uploaded successfully");
     return thumbnailUploadURL;
   }
 
-  void deleteOldProfileImage(final String fullKey) {
+  /**
+   * 기존 프로필 이미지 (크기별 썸네일과 원본) 의 삭제를 요청하는 메서드
+   * 삭제 요청은 프로필 변경과 같은 트랜잭션으로 기록되며, 실제 삭제는 나중에 모아서 처리된다.
+   *
+   * @param userEntity 기존 프로필 이미지를 가진 유저의 엔티티
+   */
+  void deleteOldProfileImage(final UserEntity userEntity) {
+    final String fullKey = userEntity.getProfileUrl();
     log.info("Delete old profile image. fullKey: {}", fullKey);
-    final CompletableFuture<Void> deleteOldProfileImage = s3Service.deleteFile(fullKey);
-    deleteOldProfileImage.exceptionally(ex -> {
-      log.error("Failed to delete old profile image: {}", ex.getMessage());
-      return null;
-    });
+
+    // 가장 큰 썸네일은 fullKey 그대로, 원본은 뒤에 "_original" 이 붙음
+    final Set<String> keys = new HashSet<>(ProfileImageVariants.keys(fullKey,
+        ProfileImageVariants.parse(userEntity.getProfileImageSizes())).values());
+    keys.add(fullKey);
+    keys.add(fullKey + "_original");
+    s3Service.deleteFiles(keys);
   }
 }
@@ -0,0 +1,73 @@
+package me.cocoblue.passkeysample.service.auth;
+
+import me.cocoblue.passkeysample.domain.auth.RevokedRefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 만료된 Revoked Refresh Token 을 주기적으로 삭제하는 Service
+ * 원래 만료 시간이 지난 토큰은 서명 검증 단계에서 거부되므로, 더 이상 보관할 필요가 없다.
+ * 한 번에 많은 행을 지워 Lock 을 오래 잡지 않도록, 일정 개수씩 나누어 각각의 트랜잭션으로 삭제한다.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class RevokedTokenPurgeService {
+  private final RevokedRefreshTokenRepository revokedRefreshTokenRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.jwt.revoked-token-purge.batch-size:1000}")
+  private int batchSize;
+  @Value("${app.jwt.revoked-token-purge.max-batches:100}")
+  private int maxBatches;
+
+  private TransactionTemplate transactionTemplate;
+  private Counter purgedRows;
+  private Timer purgeTimer;
+
+  @PostConstruct
+  protected void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    purgedRows = Counter.builder("jwt.revoked_token.purged")
+        .description("Expired revoked refresh tokens deleted by the purge job")
+        .register(meterRegistry);
+    purgeTimer = Timer.builder("jwt.revoked_token.purge")
+        .description("Time taken by one run of the revoked refresh token purge job")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwt.revoked-token-purge.interval:600000}",
+      initialDelayString = "${app.jwt.revoked-token-purge.interval:600000}")
+  public void purgeExpiredTokens() {
+    purgeTimer.record(() -> {
+      final LocalDateTime now = LocalDateTime.now();
+      int total = 0;
+      for (int batch = 0; batch < maxBatches; batch++) {
+        final Integer deleted = transactionTemplate.execute(
+            status -> revokedRefreshTokenRepository.deleteExpired(now, batchSize));
+        final int count = deleted == null ? 0 : deleted;
+        total += count;
+        purgedRows.increment(count);
+
+        if (count < batchSize) {
+          break;
+        }
+      }
+
+      if (total > 0) {
+        log.info("Purged {} expired revoked refresh tokens.", total);
+      }
+    });
+  }
+}
@@ -0,0 +1,179 @@
+package me.cocoblue.passkeysample.service.common;
+
+import me.cocoblue.passkeysample.domain.common.PendingObjectDeletionEntity;
+import me.cocoblue.passkeysample.domain.common.PendingObjectDeletionRepository;
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Object Storage 의 Object 를 모아서 지우는 Service
+ * 삭제할 Key 는 pending_object_deletion 테이블에 먼저 기록하고, 주기적으로 모아서 DeleteObjects 요청
+ * (최대 1000 개) 으로 지운다. 서버가 재시작되어도 기록은 남아있으므로 지우지 못한 Object 가 남지 않으며,
+ * 일부 Key 만 실패하면 그 Key 만 점점 긴 간격으로 다시 시도한다.
+ *
+ * <p>여러 서버가 같은 Key 를 동시에 지워도 결과는 같으므로, 서버 간 잠금은 하지 않는다.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ObjectDeletionService {
+  private final PendingObjectDeletionRepository pendingObjectDeletionRepository;
+  private final ObjectStorageClient objectStorageClient;
+  private final PlatformTransactionManager transactionManager;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.s3.deletion.batch-size:1000}")
+  private int batchSize;
+  @Value("${app.s3.deletion.max-batches:10}")
+  private int maxBatches;
+  @Value("${app.s3.deletion.retry-backoff:5000}")
+  private long retryBackoff;
+  @Value("${app.s3.deletion.max-retry-backoff:3600000}")
+  private long maxRetryBackoff;
+  // DeleteObjects 요청 하나를 기다리는 최대 시간. Scheduler Thread 를 다른 작업과 함께 쓰므로 오래 붙잡지 않도록 제한
+  @Value("${app.s3.deletion.request-timeout:30000}")
+  private long requestTimeout;
+
+  private TransactionTemplate transactionTemplate;
+  private Counter deletedObjects;
+  private Counter failedObjects;
+  // 대기 중인 Key 수. 매번 COUNT 하지 않도록, 추가되거나 삭제를 시도한 뒤에만 다시 조회
+  private final AtomicLong pendingCount = new AtomicLong();
+  private final AtomicBoolean pendingCountStale = new AtomicBoolean(true);
+
+  @PostConstruct
+  protected void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    batchSize = Math.min(Math.max(batchSize, 1), ObjectStorageClient.MAX_DELETE_KEYS);
+    deletedObjects = Counter.builder("storage.deletion.deleted")
+        .description("Objects removed from object storage by the deletion queue")
+        .register(meterRegistry);
+    failedObjects = Counter.builder("storage.deletion.failed")
+        .description("Object deletions that failed and were scheduled for retry")
+        .register(meterRegistry);
+    Gauge.builder("storage.deletion.pending", pendingCount, AtomicLong::get)
+        .description("Objects waiting in the deletion queue")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 삭제할 Key 를 Queue 에 추가하는 메서드
+   * 호출한 쪽의 트랜잭션에 참여하므로, 트랜잭션이 Rollback 되면 삭제 요청도 취소된다.
+   *
+   * @param keys 삭제할 Object Key 목록
+   */
+  @Transactional
+  public void enqueue(final Collection<String> keys) {
+    if (objectStorageClient == null) {
+      log.warn("Object storage client is not configured. Skip deleting {} objects.", keys.size());
+      return;
+    }
+
+    final LocalDateTime now = LocalDateTime.now();
+    for (String key : new HashSet<>(keys)) {
+      pendingObjectDeletionRepository.insertIgnore(key, now);
+    }
+    pendingCountStale.set(true);
+  }
+
+  @Scheduled(fixedDelayString = "${app.s3.deletion.flush-interval:1000}")
+  public void flush() {
+    if (objectStorageClient == null) {
+      return;
+    }
+
+    for (int batch = 0; batch < maxBatches; batch++) {
+      final List<PendingObjectDeletionEntity> due = pendingObjectDeletionRepository.findDue(
+          LocalDateTime.now(), PageRequest.of(0, batchSize));
+      if (due.isEmpty()) {
+        break;
+      }
+
+      deleteBatch(due);
+      pendingCountStale.set(true);
+      if (due.size() < batchSize) {
+        break;
+      }
+    }
+
+    if (pendingCountStale.getAndSet(false)) {
+      pendingCount.set(pendingObjectDeletionRepository.count());
+    }
+  }
+
+  private void deleteBatch(final List<PendingObjectDeletionEntity> due) {
+    final List<String> keys = due.stream().map(PendingObjectDeletionEntity::getObjectKey).toList();
+
+    final Set<String> failedKeys = requestDelete(keys);
+
+    final List<String> deletedKeys = keys.stream().filter(key -> !failedKeys.contains(key)).toList();
+    final List<PendingObjectDeletionEntity> failed = due.stream()
+        .filter(entity -> failedKeys.contains(entity.getObjectKey()))
+        .toList();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      pendingObjectDeletionRepository.deleteAllByIdInBatch(deletedKeys);
+      scheduleRetry(failed);
+    });
+
+    deletedObjects.increment(deletedKeys.size());
+    failedObjects.increment(failed.size());
+    if (!failed.isEmpty()) {
+      log.warn("Failed to delete {} of {} objects. They will be retried.", failed.size(), keys.size());
+    }
+    log.debug("Deleted {} objects.", deletedKeys.size());
+  }
+
+  /**
+   * 응답이 request-timeout 안에 오지 않으면 실패로 보고 전체를 다시 시도한다.
+   * (늦게 끝난 요청이 지운 Key 를 다시 지워도 결과는 같음)
+   *
+   * @return 삭제하지 못한 Key 목록 (요청 자체가 실패하면 전체)
+   */
+  private Set<String> requestDelete(final List<String> keys) {
+    try {
+      return new HashSet<>(objectStorageClient.deleteObjects(keys)
+          .orTimeout(requestTimeout, TimeUnit.MILLISECONDS)
+          .join());
+    } catch (RuntimeException e) {
+      log.error("Failed to delete {} objects.", keys.size(), e);
+      return new HashSet<>(keys);
+    }
+  }
+
+  /**
+   * 실패한 Key 를 retry-backoff 뒤에 다시 시도하도록 하는 메서드
+   * 실패할 때마다 간격을 두 배로 늘리며, max-retry-backoff 를 넘지 않는다.
+   */
+  private void scheduleRetry(final List<PendingObjectDeletionEntity> failed) {
+    final LocalDateTime now = LocalDateTime.now();
+    for (PendingObjectDeletionEntity entity : failed) {
+      final int attempts = entity.getAttempts() + 1;
+      final long backoff = Math.min(retryBackoff << Math.min(attempts - 1, 20), maxRetryBackoff);
+      entity.setAttempts(attempts);
+      entity.setNextAttemptAt(now.plus(Duration.ofMillis(backoff)));
+    }
+    pendingObjectDeletionRepository.saveAll(failed);
+  }
+}
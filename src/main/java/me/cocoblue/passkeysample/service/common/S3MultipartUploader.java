@@ -0,0 +1,220 @@
+package me.cocoblue.passkeysample.service.common;
+
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import me.cocoblue.passkeysample.util.DirectBufferPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * InputStream 을 S3 Multipart Upload 로 나누어 올리는 Component
+ * 각 Part 는 DirectBufferPool 의 Buffer 에 채운 뒤 ObjectStorageClient 로 병렬로 올리며,
+ * Buffer 가 모두 사용 중이면 읽기를 멈추므로 파일 크기와 관계없이 메모리 사용량은 Pool 크기로 제한된다.
+ * 한 Part 라도 실패하면 Multipart Upload 를 Abort 하여 S3 에 조각이 남지 않도록 한다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class S3MultipartUploader {
+  // S3 의 Part 최소 크기 (마지막 Part 제외)
+  private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+  private final ObjectStorageClient objectStorageClient;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.s3.multipart.part-size:5242880}")
+  private int partSize;
+  @Value("${app.s3.multipart.buffer-count:8}")
+  private int bufferCount;
+  @Value("${app.s3.multipart.buffer-wait-timeout:30000}")
+  private long bufferWaitTimeout;
+
+  private DirectBufferPool bufferPool;
+
+  @PostConstruct
+  protected void init() {
+    bufferPool = new DirectBufferPool(Math.max(partSize, MIN_PART_SIZE), bufferCount);
+    Gauge.builder("s3.upload.buffers.in_use", bufferPool, DirectBufferPool::inUse)
+        .description("Direct buffers currently holding S3 upload parts")
+        .register(meterRegistry);
+  }
+
+  /**
+   * InputStream 의 내용을 S3 에 올리는 메서드
+   * Part 하나 크기보다 작으면 PutObject 한 번으로, 크면 Multipart Upload 로 올린다.
+   * InputStream 은 이 메서드가 반환되기 전에 끝까지 읽으므로, 반환 후에 닫아도 된다.
+   * (Buffer 가 모두 사용 중이면 반환될 때까지 기다린다)
+   *
+   * @param key               S3 Object Key
+   * @param inputStream       올릴 내용 (이 메서드에서 닫지 않음)
+   * @param contentType       Content-Type
+   * @param authenticatedRead true 이면 authenticated-read ACL 로 저장
+   * @return 업로드가 끝나면 완료되는 Future
+   */
+  public CompletableFuture<Void> upload(final String key, final InputStream inputStream,
+      final String contentType, final boolean authenticatedRead) throws IOException {
+    if (objectStorageClient == null) {
+      throw new IllegalStateException("Amazon S3 client is not configured");
+    }
+
+    final ReadableByteChannel channel = Channels.newChannel(inputStream);
+    final ByteBuffer first = acquireBuffer();
+    final boolean endOfStream;
+    try {
+      endOfStream = fill(channel, first);
+    } catch (IOException e) {
+      bufferPool.release(first);
+      throw e;
+    }
+
+    if (endOfStream) {
+      // 한 Part 안에 들어가는 작은 파일은 요청 1번으로 올림
+      return releaseWhenDone(
+          submit(() -> objectStorageClient.putObject(key, first.flip(), contentType, authenticatedRead)),
+          first);
+    }
+
+    return uploadMultipart(key, channel, first, contentType, authenticatedRead);
+  }
+
+  private CompletableFuture<Void> uploadMultipart(String key, ReadableByteChannel channel,
+      ByteBuffer first, String contentType, boolean authenticatedRead) throws IOException {
+    // 실패해도 첫 Part 의 Future 가 실패하면서 Buffer 를 반납하고, 아래에서 예외가 발생함
+    final CompletableFuture<String> uploadId =
+        submit(() -> objectStorageClient.createMultipartUpload(key, contentType, authenticatedRead));
+
+    final List<CompletableFuture<String>> parts = new ArrayList<>();
+    try {
+      ByteBuffer buffer = first;
+      boolean endOfStream = false;
+      while (true) {
+        parts.add(submitPart(key, uploadId, parts.size() + 1, buffer.flip()));
+        if (endOfStream) {
+          break;
+        }
+        throwIfAnyPartFailed(uploadId, parts);
+
+        buffer = acquireBuffer();
+        try {
+          endOfStream = fill(channel, buffer);
+        } catch (IOException e) {
+          bufferPool.release(buffer);
+          throw e;
+        }
+        if (endOfStream && buffer.position() == 0) {
+          // 앞 Part 가 정확히 파일 끝에서 끝난 경우
+          bufferPool.release(buffer);
+          break;
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      abortAfterParts(key, uploadId, parts);
+      throw e;
+    }
+
+    return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+        .thenCompose(done -> objectStorageClient.completeMultipartUpload(key, uploadId.join(),
+            parts.stream().map(CompletableFuture::join).toList()))
+        .whenComplete((done, failure) -> {
+          if (failure != null) {
+            abortAfterParts(key, uploadId, parts);
+          } else {
+            log.debug("Multipart upload completed. key: {}, parts: {}", key, parts.size());
+          }
+        });
+  }
+
+  private CompletableFuture<String> submitPart(String key, CompletableFuture<String> uploadId,
+      int partNumber, ByteBuffer buffer) {
+    final CompletableFuture<String> part = uploadId.thenCompose(
+        id -> objectStorageClient.uploadPart(key, id, partNumber, buffer));
+    // Part 를 다 올렸거나 실패하면 바로 Buffer 를 반납하여 다음 Part 를 읽을 수 있도록 함
+    return releaseWhenDone(part, buffer);
+  }
+
+  /**
+   * 요청을 보내는 중에 바로 발생한 예외 (Executor 의 거절 등) 도 실패한 Future 로 바꾸는 메서드
+   * 예외가 그대로 던져지면 releaseWhenDone 이 등록되지 않아 Buffer 가 Pool 로 돌아가지 않는다.
+   */
+  private static <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+    try {
+      return request.get();
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private <T> CompletableFuture<T> releaseWhenDone(CompletableFuture<T> future, ByteBuffer buffer) {
+    return future.whenComplete((result, failure) -> bufferPool.release(buffer));
+  }
+
+  private static void throwIfAnyPartFailed(CompletableFuture<String> uploadId,
+      List<CompletableFuture<String>> parts) {
+    if (uploadId.isCompletedExceptionally()) {
+      uploadId.join();
+    }
+    for (CompletableFuture<String> part : parts) {
+      if (part.isCompletedExceptionally()) {
+        part.join();
+      }
+    }
+  }
+
+  /**
+   * 진행 중인 Part 가 모두 끝난 뒤에 Abort 하여 S3 에 조각이 남지 않도록 하는 메서드
+   */
+  private void abortAfterParts(String key, CompletableFuture<String> uploadId,
+      List<CompletableFuture<String>> parts) {
+    CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+        .handle((done, failure) -> null)
+        .thenCombine(uploadId, (ignored, id) -> id)
+        .thenCompose(id -> objectStorageClient.abortMultipartUpload(key, id)
+            .whenComplete((done, failure) -> {
+              if (failure != null) {
+                log.error("Failed to abort multipart upload. key: {}, uploadId: {}", key, id, failure);
+              } else {
+                log.warn("Multipart upload aborted. key: {}, uploadId: {}", key, id);
+              }
+            }));
+  }
+
+  private ByteBuffer acquireBuffer() throws IOException {
+    try {
+      final ByteBuffer buffer = bufferPool.acquire(bufferWaitTimeout);
+      if (buffer == null) {
+        throw new IOException("Timed out waiting for an upload buffer");
+      }
+      return buffer;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for an upload buffer", e);
+    }
+  }
+
+  /**
+   * Buffer 가 가득 차거나 Stream 이 끝날 때까지 읽는 메서드
+   *
+   * @return Stream 이 끝났으면 true
+   */
+  private static boolean fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -2,24 +2,24 @@ package me.cocoblue.passkeysample.service.common;
 
 import static com.google.common.io.Files.getFileExtension;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import me.cocoblue.passkeysample.controller.StoredFileController;
 import me.cocoblue.passkeysample.domain.common.ApplicationSettingEntity;
 import me.cocoblue.passkeysample.domain.common.ApplicationSettingKey;
 import me.cocoblue.passkeysample.domain.common.ApplicationSettingRepository;
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import me.cocoblue.passkeysample.storage.ObjectStorageClientType;
+import me.cocoblue.passkeysample.util.ProfileImageVariants;
 import jakarta.annotation.PostConstruct;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -27,8 +27,10 @@ import org.springframework.web.multipart.MultipartFile;
 @Service
 @RequiredArgsConstructor
 public class S3Service {
-  private final AmazonS3 amazonS3;
+  private final ObjectStorageClient objectStorageClient;
   private final ApplicationSettingRepository applicationSettingRepository;
+  private final S3MultipartUploader s3MultipartUploader;
+  private final ObjectDeletionService objectDeletionService;
 
   @Value("${app.s3.endpoint:}")
   private String s3Endpoint;
@@ -39,6 +41,12 @@ public class S3Service {
   @Value("${app.static-url:}")
   private String s3StaticUrl;
 
+  @Value("${app.s3.client:SDK_V1}")
+  private ObjectStorageClientType clientType;
+
+  @Value("${app.base-url}")
+  private String baseUrl;
+
   @Value("${app.file.allow-to-upload-type}")
   private String allowToUploadTypeString;
 
@@ -67,15 +75,21 @@ public class S3Service {
     if (s3Endpoint.endsWith("/")) {
       s3Endpoint += s3Endpoint.substring(0, s3Endpoint.length() - 1);;
     }
-  }
 
-  @Value("${app.s3.bucket-name}")
-  private String bucketName;
+    if (baseUrl.endsWith("/")) {
+      baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+    }
+  }
 
-  @Async("s3UploadExecutor")
+  /**
+   * 원본 파일을 S3 에 올리는 메서드
+   * 파일은 호출한 Thread 에서 Part 단위로 읽고, 전송은 ObjectStorageClient 가 비동기로 처리한다.
+   *
+   * @return 업로드가 끝나면 완료되는 Future
+   */
   public CompletableFuture<Void> uploadOriginalFileAsync(final MultipartFile file, final String directory, final String fileName) throws IOException {
     log.info("Uploading original file: {}", fileName);
-    if(amazonS3 == null) {
+    if(objectStorageClient == null) {
       log.error("File upload is not available. The reason is that Amazon S3 client is not configured. Check your application properties.");
       throw new IllegalStateException("Amazon S3 client is not configured");
     }
@@ -83,40 +97,32 @@ public class S3Service {
     final String normalizedDir = directory.endsWith("/") ? directory : directory + "/";
     final String fullKey = normalizedDir + fileName;
 
-    final ObjectMetadata metadata = new ObjectMetadata();
-    metadata.setContentLength(file.getSize());
-    metadata.setContentType(file.getContentType());
-
+    // 파일 전체를 Heap 에 올리지 않고, Part 단위로 나누어 올림
     try (InputStream inputStream = file.getInputStream()) {
-      final PutObjectRequest putRequest = new PutObjectRequest(
-          bucketName,
-          fullKey,
-          inputStream,
-          metadata
-      );
-      putRequest.setCannedAcl(CannedAccessControlList.AuthenticatedRead);
-
-      amazonS3.putObject(putRequest);
-
-      return CompletableFuture.completedFuture(null);
+      return s3MultipartUploader.upload(fullKey, inputStream, file.getContentType(), true);
     }
   }
 
-  @Async("deleteExecutor")
-  public CompletableFuture<Void> deleteFile(final String fullKey) {
-    final DeleteObjectRequest deleteObjectRequest = new DeleteObjectRequest(
-        bucketName,
-        fullKey
-    );
-
-    amazonS3.deleteObject(deleteObjectRequest);
-
-    return CompletableFuture.completedFuture(null);
+  /**
+   * 파일 삭제를 요청하는 메서드
+   * 바로 지우지 않고 삭제 Queue 에 기록하며, ObjectDeletionService 가 모아서 DeleteObjects 요청으로 지운다.
+   *
+   * @param fullKeys 삭제할 파일의 Key 목록
+   */
+  public void deleteFiles(final Collection<String> fullKeys) {
+    objectDeletionService.enqueue(fullKeys);
   }
 
-  public String uploadProfileResizedFile(byte[] webpData, final String directory, final String fileName) throws IOException {
-    log.info("Uploading profile resized file: {}", fileName);
-    if(amazonS3 == null) {
+  /**
+   * 크기별 썸네일을 모두 올리는 메서드
+   * Key 는 ProfileImageVariants 의 규칙을 따르며, 모든 썸네일을 동시에 올린 뒤 끝날 때까지 기다린다.
+   *
+   * @param thumbnails 크기별 WebP
+   * @return 가장 큰 썸네일의 Key
+   */
+  public String uploadProfileThumbnails(final Map<Integer, byte[]> thumbnails, final String directory, final String fileName) {
+    log.info("Uploading {} profile thumbnails: {}", thumbnails.size(), fileName);
+    if(objectStorageClient == null) {
       log.error("File upload is not available. The reason is that Amazon S3 client is not configured. Check your application properties.");
       throw new IllegalStateException("Amazon S3 client is not configured");
     }
@@ -124,18 +130,13 @@ public class S3Service {
     final String normalizedDir = directory.endsWith("/") ? directory : directory + "/";
     final String fullKey = normalizedDir + fileName;
 
-    final ObjectMetadata metadata = new ObjectMetadata();
-    metadata.setContentLength(webpData.length);
-    metadata.setContentType("image/webp");
-
-    final PutObjectRequest putRequest = new PutObjectRequest(
-        bucketName,
-        fullKey,
-        new ByteArrayInputStream(webpData),
-        metadata
-    );
-
-    amazonS3.putObject(putRequest);
+    // 썸네일 URL 을 바로 응답하므로, 업로드가 끝날 때까지 기다림
+    final Map<Integer, String> keys = ProfileImageVariants.keys(fullKey, thumbnails.keySet());
+    CompletableFuture.allOf(keys.entrySet().stream()
+        .map(entry -> objectStorageClient.putObject(entry.getValue(),
+            ByteBuffer.wrap(thumbnails.get(entry.getKey())), "image/webp", false))
+        .toArray(CompletableFuture[]::new)
+    ).join();
 
     return fullKey;
   }
@@ -150,6 +151,23 @@ public class S3Service {
   }
 
   public String configureS3URL(final String relativeUrl) {
+    final String prefix = configureS3URLPrefix();
+    return prefix == null ? null : prefix + relativeUrl;
+  }
+
+  /**
+   * Object Key 앞에 붙일 URL 을 만드는 메서드
+   * S3_ENABLED 설정을 조회하므로, 여러 Key 의 URL 을 만들 때는 한 번만 호출하여 재사용한다.
+   *
+   * @return URL Prefix. Object Storage 를 사용할 수 없으면 null
+   */
+  public String configureS3URLPrefix() {
+    // 로컬 디스크에 저장한 경우, 이 서버의 StoredFileController 가 제공
+    if(clientType == ObjectStorageClientType.LOCAL) {
+      final String prefix = s3StaticUrl.isEmpty() ? baseUrl : s3StaticUrl;
+      return prefix + StoredFileController.PATH_PREFIX;
+    }
+
     final ApplicationSettingEntity applicationSettingEntity = applicationSettingRepository.findApplicationSettingEntityBySettingKeyEquals(
         ApplicationSettingKey.S3_ENABLED.getKeyName()
     ).orElseGet(() -> ApplicationSettingEntity.builder()
@@ -168,14 +186,10 @@ public class S3Service {
       return null;
     }
 
-    String prefix = "";
-
     if(s3StaticUrl.isEmpty()) {
-      prefix = String.format("%s/%s", s3Endpoint, s3BucketName);
+      return String.format("%s/%s", s3Endpoint, s3BucketName);
     } else {
-      prefix = String.format("%s/%s", s3StaticUrl, s3BucketName);
+      return String.format("%s/%s", s3StaticUrl, s3BucketName);
     }
-
-    return prefix + relativeUrl;
   }
 }
@@ -6,17 +6,24 @@ import me.cocoblue.passkeysample.domain.user.UserRole;
 import me.cocoblue.passkeysample.dto.user.SignUpReq;
 import me.cocoblue.passkeysample.dto.user.UserApiResp;
 import me.cocoblue.passkeysample.exception.user.DuplicateEmailException;
+import me.cocoblue.passkeysample.service.auth.PasswordHashingService;
 import me.cocoblue.passkeysample.service.common.S3Service;
+import me.cocoblue.passkeysample.util.ProfileImageVariants;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +32,13 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserService {
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
   private final S3Service s3Service;
 
+  // Gravatar 이미지의 srcset 크기 목록 (px)
+  @Value("${app.file.thumbnail-sizes:64,128,256,512}")
+  private List<Integer> thumbnailSizes;
+
   @Cacheable(value = "email_check_result", key = "#email", unless = "#result == true")
   public boolean isDuplicateEmail(final String email) {
     return userRepository.existsByEmail(email);
@@ -39,6 +50,7 @@ public class UserService {
 
     assert userEntity != null;
     userEntity.setFullProfileUrl(configureProfileURL(userEntity.getProfileUrl(), userEntity.getEmail()));
+    userEntity.setProfileImageSrcset(configureProfileSrcset(userEntity));
 
     return new UserApiResp(userEntity);
   }
@@ -63,7 +75,24 @@ public class UserService {
     return userRepository.save(user);
   }
 
+  /**
+   * 비밀번호 Hash 만 변경하는 메서드
+   * 미리 Hashing 한 값을 받아 짧은 트랜잭션 안에서 비밀번호 컬럼만 변경한다.
+   *
+   * @param id              사용자 ID
+   * @param encodedPassword Hashing 된 새 비밀번호
+   */
   @Transactional
+  @CacheEvict(value = "users", key = "#id")
+  public void updatePassword(final String id, final String encodedPassword) {
+    userRepository.updatePassword(id, encodedPassword, LocalDateTime.now());
+  }
+
+  /**
+   * 회원가입
+   * 비밀번호 Hashing 은 오래 걸리므로, DB Connection 을 잡고 있지 않도록 트랜잭션 밖에서 Hashing 한 뒤
+   * 저장할 때만 짧은 트랜잭션을 사용한다. (동시에 같은 이메일로 가입하면 email 의 Unique 제약으로 거절)
+   */
   @Caching(
       put = {
           @CachePut(value = "email_check_result", key = "#request.email()"),
@@ -71,15 +100,15 @@ public class UserService {
       }
   )
   public UserEntity signUp(final SignUpReq request) {
-    if (userRepository.existsByEmail(request.email())) {
-      throw new DuplicateEmailException();
-    }
-
     if(!request.password().equals(request.passwordConfirm())) {
       throw new IllegalArgumentException("Password and password confirm do not match");
     }
 
-    final String encodedPassword = passwordEncoder.encode(request.password().trim());
+    if (userRepository.existsByEmail(request.email())) {
+      throw new DuplicateEmailException();
+    }
+
+    final String encodedPassword = passwordHashingService.encode(request.password().trim());
     final UserEntity newUser = request.toEntity(encodedPassword, UserRole.USER);
     newUser.setName(request.name().trim());
     newUser.setEmail(request.email().trim());
@@ -87,7 +116,11 @@ public class UserService {
       newUser.setProfileUrl(configureGravatarURL(request.email()));
     }
 
-    userRepository.save(newUser);
+    try {
+      userRepository.save(newUser);
+    } catch (DataIntegrityViolationException e) {
+      throw new DuplicateEmailException();
+    }
 
     return newUser;
   }
@@ -109,6 +142,42 @@ public class UserService {
     return s3Service.configureS3URL(currentProfileURL);
   }
 
+  /**
+   * 크기 (px) 별 프로필 이미지 URL 을 만드는 메서드 (srcset 용)
+   * Gravatar 는 size 파라미터로 크기를 지정하며, 크기별 썸네일이 없는 이전 이미지는 null 을 반환한다.
+   *
+   * @param userEntity 유저의 엔티티
+   * @return 크기별 URL (작은 크기부터). 만들 수 없으면 null
+   */
+  public Map<Integer, String> configureProfileSrcset(final UserEntity userEntity) {
+    final String currentProfileURL = userEntity.getProfileUrl();
+    if(currentProfileURL == null) {
+      return null;
+    }
+
+    final Map<Integer, String> srcset = new LinkedHashMap<>();
+    if(currentProfileURL.equals(configureGravatarURL(userEntity.getEmail()))) {
+      final String gravatarBaseURL = "https://gravatar.com/avatar/" + encodeEmailByMD5(userEntity.getEmail());
+      thumbnailSizes.stream().distinct().sorted()
+          .forEach(size -> srcset.put(size, gravatarBaseURL + "?size=" + size));
+      return srcset;
+    }
+
+    final Map<Integer, String> keys = ProfileImageVariants.keys(currentProfileURL,
+        ProfileImageVariants.parse(userEntity.getProfileImageSizes()));
+    if(keys.isEmpty()) {
+      return null;
+    }
+
+    // 크기마다 S3 설정을 조회하지 않도록, URL Prefix 는 한 번만 만들어 사용
+    final String prefix = s3Service.configureS3URLPrefix();
+    if(prefix == null) {
+      return null;
+    }
+    keys.forEach((size, key) -> srcset.put(size, prefix + key));
+    return srcset.isEmpty() ? null : srcset;
+  }
+
   public String configureGravatarURL(final String email) {
     return "https://gravatar.com/avatar/" + encodeEmailByMD5(email) + "?size=500";
   }
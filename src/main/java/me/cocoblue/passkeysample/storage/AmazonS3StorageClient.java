@@ -0,0 +1,113 @@
+package me.cocoblue.passkeysample.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import me.cocoblue.passkeysample.util.ByteBufferInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * AWS SDK v1 AmazonS3 로 구현한 ObjectStorageClient
+ * AmazonS3 는 Blocking Client 이므로, 업로드는 uploadExecutor, 삭제는 deleteExecutor 의 Thread 에서 실행한다.
+ */
+@RequiredArgsConstructor
+public class AmazonS3StorageClient implements ObjectStorageClient {
+  private final AmazonS3 amazonS3;
+  private final String bucketName;
+  private final Executor uploadExecutor;
+  private final Executor deleteExecutor;
+
+  @Override
+  public CompletableFuture<Void> putObject(String key, ByteBuffer content, String contentType,
+      boolean authenticatedRead) {
+    return CompletableFuture.runAsync(() -> {
+      final ObjectMetadata metadata = new ObjectMetadata();
+      metadata.setContentLength(content.remaining());
+      metadata.setContentType(contentType);
+      final PutObjectRequest putRequest = new PutObjectRequest(bucketName, key,
+          new ByteBufferInputStream(content), metadata);
+      if (authenticatedRead) {
+        putRequest.setCannedAcl(CannedAccessControlList.AuthenticatedRead);
+      }
+      amazonS3.putObject(putRequest);
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<String> createMultipartUpload(String key, String contentType,
+      boolean authenticatedRead) {
+    return CompletableFuture.supplyAsync(() -> {
+      final ObjectMetadata metadata = new ObjectMetadata();
+      metadata.setContentType(contentType);
+      final InitiateMultipartUploadRequest request =
+          new InitiateMultipartUploadRequest(bucketName, key, metadata);
+      if (authenticatedRead) {
+        request.setCannedACL(CannedAccessControlList.AuthenticatedRead);
+      }
+      return amazonS3.initiateMultipartUpload(request).getUploadId();
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<String> uploadPart(String key, String uploadId, int partNumber,
+      ByteBuffer content) {
+    return CompletableFuture.supplyAsync(() -> amazonS3.uploadPart(new UploadPartRequest()
+        .withBucketName(bucketName)
+        .withKey(key)
+        .withUploadId(uploadId)
+        .withPartNumber(partNumber)
+        .withPartSize(content.remaining())
+        .withInputStream(new ByteBufferInputStream(content))
+    ).getETag(), uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Void> completeMultipartUpload(String key, String uploadId,
+      List<String> partETags) {
+    return CompletableFuture.runAsync(() -> {
+      final List<PartETag> parts = new ArrayList<>(partETags.size());
+      for (int i = 0; i < partETags.size(); i++) {
+        parts.add(new PartETag(i + 1, partETags.get(i)));
+      }
+      amazonS3.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(bucketName, key, uploadId, parts));
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Void> abortMultipartUpload(String key, String uploadId) {
+    return CompletableFuture.runAsync(() -> amazonS3.abortMultipartUpload(
+        new AbortMultipartUploadRequest(bucketName, key, uploadId)), uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<List<String>> deleteObjects(List<String> keys) {
+    return CompletableFuture.supplyAsync(() -> {
+      final DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+          .withKeys(keys.stream().map(KeyVersion::new).toList())
+          .withQuiet(true);
+      try {
+        amazonS3.deleteObjects(request);
+        return List.of();
+      } catch (MultiObjectDeleteException e) {
+        // 일부 Key 만 실패한 경우
+        return e.getErrors().stream().map(DeleteError::getKey).toList();
+      }
+    }, deleteExecutor);
+  }
+}
@@ -0,0 +1,279 @@
+package me.cocoblue.passkeysample.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 로컬 디스크에 파일을 저장하는 ObjectStorageClient
+ * S3 없이 단일 서버나 테스트 환경에서 업로드를 사용할 수 있도록 하며, 저장한 파일은 StoredFileController 가 제공한다.
+ *
+ * <p>Key 의 SHA-256 값으로 경로를 정하고 (예: ab/cd/abcd...), 앞 4 글자로 디렉토리를 나누어
+ * 한 디렉토리에 파일이 몰리지 않도록 한다. Key 가 경로로 쓰이지 않으므로 "../" 같은 Key 로 root 밖에 접근할 수 없다.
+ * 파일은 같은 디렉토리의 임시 파일에 쓴 뒤 이름을 바꾸므로, 읽는 쪽에서 쓰다 만 파일을 볼 수 없다.
+ * Content-Type 과 공개 여부는 같은 이름의 .meta 파일에 함께 저장한다.</p>
+ *
+ * <p>디스크 I/O 는 Blocking 이므로, 업로드는 uploadExecutor, 삭제는 deleteExecutor 의 Thread 에서 실행한다.</p>
+ */
+@Log4j2
+public class LocalFileStorageClient implements ObjectStorageClient {
+  private static final String META_SUFFIX = ".meta";
+  private static final String UPLOADS_DIRECTORY = ".uploads";
+  private static final String CONTENT_TYPE = "contentType";
+  private static final String AUTHENTICATED_READ = "authenticatedRead";
+
+  private final Path root;
+  private final Executor uploadExecutor;
+  private final Executor deleteExecutor;
+
+  public LocalFileStorageClient(Path root, Executor uploadExecutor, Executor deleteExecutor) {
+    this.root = root.toAbsolutePath().normalize();
+    this.uploadExecutor = uploadExecutor;
+    this.deleteExecutor = deleteExecutor;
+    try {
+      Files.createDirectories(this.root.resolve(UPLOADS_DIRECTORY));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create local storage directory: " + this.root, e);
+    }
+    log.info("Local file storage directory: {}", this.root);
+  }
+
+  /**
+   * 저장된 파일 정보
+   *
+   * @param path              파일 경로
+   * @param contentType       Content-Type
+   * @param size              파일 크기 (byte)
+   * @param lastModified      마지막 수정 시간 (epoch millis)
+   * @param authenticatedRead true 이면 공개하지 않는 파일
+   */
+  public record StoredFile(Path path, String contentType, long size, long lastModified,
+                           boolean authenticatedRead) {
+  }
+
+  /**
+   * Key 로 저장된 파일을 찾는 메서드
+   *
+   * @param key Object Key
+   * @return 파일 정보. 없으면 empty
+   */
+  public Optional<StoredFile> find(String key) throws IOException {
+    final Path path = pathOf(key);
+    final Properties meta;
+    try (InputStream inputStream = Files.newInputStream(metaPathOf(path))) {
+      meta = new Properties();
+      meta.load(inputStream);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(new StoredFile(path,
+          meta.getProperty(CONTENT_TYPE, "application/octet-stream"),
+          Files.size(path),
+          Files.getLastModifiedTime(path).toMillis(),
+          Boolean.parseBoolean(meta.getProperty(AUTHENTICATED_READ))));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> putObject(String key, ByteBuffer content, String contentType,
+      boolean authenticatedRead) {
+    return CompletableFuture.runAsync(() -> {
+      final Path path = pathOf(key);
+      writeMeta(metaPathOf(path), contentType, authenticatedRead);
+      writeAtomically(path, content);
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<String> createMultipartUpload(String key, String contentType,
+      boolean authenticatedRead) {
+    return CompletableFuture.supplyAsync(() -> {
+      final String uploadId = UUID.randomUUID().toString();
+      final Path uploadDirectory = uploadDirectoryOf(uploadId);
+      try {
+        Files.createDirectories(uploadDirectory);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      writeMeta(uploadDirectory.resolve(META_SUFFIX), contentType, authenticatedRead);
+      return uploadId;
+    }, uploadExecutor);
+  }
+
+  /**
+   * @return Part 파일 이름 (S3 의 ETag 대신 사용)
+   */
+  @Override
+  public CompletableFuture<String> uploadPart(String key, String uploadId, int partNumber,
+      ByteBuffer content) {
+    return CompletableFuture.supplyAsync(() -> {
+      final String partName = String.format("part-%05d", partNumber);
+      writeAtomically(uploadDirectoryOf(uploadId).resolve(partName), content);
+      return partName;
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Void> completeMultipartUpload(String key, String uploadId,
+      List<String> partETags) {
+    return CompletableFuture.runAsync(() -> {
+      final Path uploadDirectory = uploadDirectoryOf(uploadId);
+      final Path path = pathOf(key);
+      try {
+        Files.createDirectories(path.getParent());
+        final Path temp = Files.createTempFile(path.getParent(), ".tmp-", null);
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+          // Part 파일을 순서대로 이어 붙임 (Kernel 에서 복사하므로 Heap 을 거치지 않음)
+          for (String partName : partETags) {
+            try (FileChannel part = FileChannel.open(uploadDirectory.resolve(partName))) {
+              long position = 0;
+              final long size = part.size();
+              while (position < size) {
+                position += part.transferTo(position, size - position, target);
+              }
+            }
+          }
+          target.force(true);
+        } catch (IOException | RuntimeException e) {
+          Files.deleteIfExists(temp);
+          throw e;
+        }
+        Files.copy(uploadDirectory.resolve(META_SUFFIX), metaPathOf(path),
+            StandardCopyOption.REPLACE_EXISTING);
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteRecursively(uploadDirectory);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Void> abortMultipartUpload(String key, String uploadId) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        deleteRecursively(uploadDirectoryOf(uploadId));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, uploadExecutor);
+  }
+
+  @Override
+  public CompletableFuture<List<String>> deleteObjects(List<String> keys) {
+    return CompletableFuture.supplyAsync(() -> {
+      final List<String> failedKeys = new ArrayList<>();
+      for (String key : keys) {
+        final Path path = pathOf(key);
+        try {
+          // 파일을 먼저 지워야 .meta 만 남은 상태에서 find 가 빈 결과를 반환함
+          Files.deleteIfExists(path);
+          Files.deleteIfExists(metaPathOf(path));
+        } catch (IOException e) {
+          log.warn("Failed to delete local file. key: {}", key, e);
+          failedKeys.add(key);
+        }
+      }
+      return failedKeys;
+    }, deleteExecutor);
+  }
+
+  private Path pathOf(String key) {
+    final String hash = sha256Hex(key);
+    return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+  }
+
+  private static Path metaPathOf(Path path) {
+    return path.resolveSibling(path.getFileName() + META_SUFFIX);
+  }
+
+  private Path uploadDirectoryOf(String uploadId) {
+    // Upload ID 는 이 Class 가 만든 UUID 만 허용
+    return root.resolve(UPLOADS_DIRECTORY).resolve(UUID.fromString(uploadId).toString());
+  }
+
+  private static void writeMeta(Path path, String contentType, boolean authenticatedRead) {
+    final Properties meta = new Properties();
+    if (contentType != null) {
+      meta.setProperty(CONTENT_TYPE, contentType);
+    }
+    meta.setProperty(AUTHENTICATED_READ, Boolean.toString(authenticatedRead));
+
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try {
+      meta.store(content, null);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    writeAtomically(path, ByteBuffer.wrap(content.toByteArray()));
+  }
+
+  /**
+   * 같은 디렉토리의 임시 파일에 쓴 뒤 이름을 바꾸어, 파일이 한 번에 바뀌도록 하는 메서드
+   */
+  private static void writeAtomically(Path path, ByteBuffer content) {
+    final ByteBuffer source = content.duplicate();
+    try {
+      Files.createDirectories(path.getParent());
+      final Path temp = Files.createTempFile(path.getParent(), ".tmp-", null);
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (source.hasRemaining()) {
+          channel.write(source);
+        }
+        channel.force(true);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(temp);
+        throw e;
+      }
+      Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private static String sha256Hex(String key) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package me.cocoblue.passkeysample.storage;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * S3 호환 Object Storage 에 대한 비동기 Client
+ * 모든 메서드는 요청을 보낸 뒤 바로 CompletableFuture 를 반환한다.
+ * ByteBuffer 인자는 position ~ limit 을 보내며, 반환된 Future 가 끝날 때까지 내용을 바꾸면 안 된다.
+ *
+ * @see AmazonS3StorageClient
+ * @see S3AsyncStorageClient
+ */
+public interface ObjectStorageClient {
+  // DeleteObjects 요청 한 번에 넣을 수 있는 최대 Key 수
+  int MAX_DELETE_KEYS = 1000;
+
+  /**
+   * @param authenticatedRead true 이면 authenticated-read ACL 로 저장
+   */
+  CompletableFuture<Void> putObject(String key, ByteBuffer content, String contentType,
+      boolean authenticatedRead);
+
+  /**
+   * @return Upload ID
+   */
+  CompletableFuture<String> createMultipartUpload(String key, String contentType,
+      boolean authenticatedRead);
+
+  /**
+   * @return Part 의 ETag
+   */
+  CompletableFuture<String> uploadPart(String key, String uploadId, int partNumber,
+      ByteBuffer content);
+
+  /**
+   * @param partETags Part 번호 순서 (1 부터) 의 ETag 목록
+   */
+  CompletableFuture<Void> completeMultipartUpload(String key, String uploadId,
+      List<String> partETags);
+
+  CompletableFuture<Void> abortMultipartUpload(String key, String uploadId);
+
+  /**
+   * 여러 Object 를 요청 한 번으로 삭제하는 메서드 (S3 DeleteObjects)
+   * 없는 Key 는 삭제된 것으로 본다.
+   *
+   * @param keys 삭제할 Key 목록 (최대 {@link #MAX_DELETE_KEYS} 개)
+   * @return 삭제하지 못한 Key 목록 (모두 삭제했으면 빈 목록)
+   */
+  CompletableFuture<List<String>> deleteObjects(List<String> keys);
+}
@@ -0,0 +1,13 @@
+package me.cocoblue.passkeysample.storage;
+
+/**
+ * app.s3.client 로 선택하는 ObjectStorageClient 구현
+ */
+public enum ObjectStorageClientType {
+  // AWS SDK v1 AmazonS3 (Blocking). 요청마다 Executor 의 Thread 를 사용
+  SDK_V1,
+  // AWS SDK v2 S3AsyncClient (Netty NIO). 요청을 기다리는 동안 Thread 를 사용하지 않음
+  ASYNC,
+  // 로컬 디스크 (app.s3.local.directory). S3 설정 없이 사용할 수 있으며, 파일은 /files/** 로 제공
+  LOCAL
+}
@@ -0,0 +1,119 @@
+package me.cocoblue.passkeysample.storage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * AWS SDK v2 S3AsyncClient (Netty NIO) 로 구현한 ObjectStorageClient
+ * 요청은 Netty Event Loop 에서 처리되며, 응답을 기다리는 동안 Thread 를 점유하지 않는다.
+ * Connection 은 Client 의 Connection Pool 에서 재사용하며, 동시 요청 수는 S3Config 에서 설정한다.
+ * 업로드할 ByteBuffer 는 복사하지 않고 그대로 보낸다. (Future 가 끝날 때까지 내용을 바꾸지 않아야 함)
+ */
+@RequiredArgsConstructor
+public class S3AsyncStorageClient implements ObjectStorageClient, AutoCloseable {
+  private final S3AsyncClient s3AsyncClient;
+  private final String bucketName;
+
+  @Override
+  public CompletableFuture<Void> putObject(String key, ByteBuffer content, String contentType,
+      boolean authenticatedRead) {
+    final PutObjectRequest.Builder request = PutObjectRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .contentType(contentType)
+        .contentLength((long) content.remaining());
+    if (authenticatedRead) {
+      request.acl(ObjectCannedACL.AUTHENTICATED_READ);
+    }
+    return s3AsyncClient.putObject(request.build(), AsyncRequestBody.fromRemainingByteBufferUnsafe(content))
+        .thenApply(response -> null);
+  }
+
+  @Override
+  public CompletableFuture<String> createMultipartUpload(String key, String contentType,
+      boolean authenticatedRead) {
+    final CreateMultipartUploadRequest.Builder request = CreateMultipartUploadRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .contentType(contentType);
+    if (authenticatedRead) {
+      request.acl(ObjectCannedACL.AUTHENTICATED_READ);
+    }
+    return s3AsyncClient.createMultipartUpload(request.build())
+        .thenApply(response -> response.uploadId());
+  }
+
+  @Override
+  public CompletableFuture<String> uploadPart(String key, String uploadId, int partNumber,
+      ByteBuffer content) {
+    final UploadPartRequest request = UploadPartRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .uploadId(uploadId)
+        .partNumber(partNumber)
+        .contentLength((long) content.remaining())
+        .build();
+    return s3AsyncClient.uploadPart(request, AsyncRequestBody.fromRemainingByteBufferUnsafe(content))
+        .thenApply(response -> response.eTag());
+  }
+
+  @Override
+  public CompletableFuture<Void> completeMultipartUpload(String key, String uploadId,
+      List<String> partETags) {
+    final List<CompletedPart> parts = new ArrayList<>(partETags.size());
+    for (int i = 0; i < partETags.size(); i++) {
+      parts.add(CompletedPart.builder().partNumber(i + 1).eTag(partETags.get(i)).build());
+    }
+    final CompleteMultipartUploadRequest request = CompleteMultipartUploadRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .uploadId(uploadId)
+        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+        .build();
+    return s3AsyncClient.completeMultipartUpload(request).thenApply(response -> null);
+  }
+
+  @Override
+  public CompletableFuture<Void> abortMultipartUpload(String key, String uploadId) {
+    return s3AsyncClient.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .uploadId(uploadId)
+        .build()
+    ).thenApply(response -> null);
+  }
+
+  @Override
+  public CompletableFuture<List<String>> deleteObjects(List<String> keys) {
+    final List<ObjectIdentifier> objects = keys.stream()
+        .map(key -> ObjectIdentifier.builder().key(key).build())
+        .toList();
+    return s3AsyncClient.deleteObjects(DeleteObjectsRequest.builder()
+        .bucket(bucketName)
+        .delete(Delete.builder().objects(objects).quiet(true).build())
+        .build()
+    ).thenApply(response -> response.errors().stream().map(S3Error::key).toList());
+  }
+
+  @Override
+  public void close() {
+    s3AsyncClient.close();
+  }
+}
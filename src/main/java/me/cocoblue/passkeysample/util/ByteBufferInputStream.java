@@ -0,0 +1,63 @@
+package me.cocoblue.passkeysample.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * ByteBuffer 의 position ~ limit 을 읽는 InputStream
+ * mark / reset 을 지원하므로, AWS SDK 가 재시도할 때 내용을 Heap 에 복사하지 않고 처음부터 다시 읽을 수 있다.
+ */
+public class ByteBufferInputStream extends InputStream {
+  private final ByteBuffer buffer;
+
+  public ByteBufferInputStream(ByteBuffer buffer) {
+    // 원본 Buffer 의 position, mark 를 바꾸지 않도록 복제하여 사용
+    this.buffer = buffer.duplicate();
+    this.buffer.mark();
+  }
+
+  @Override
+  public int read() {
+    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) {
+    if (length == 0) {
+      return 0;
+    }
+    if (!buffer.hasRemaining()) {
+      return -1;
+    }
+    final int count = Math.min(length, buffer.remaining());
+    buffer.get(bytes, offset, count);
+    return count;
+  }
+
+  @Override
+  public long skip(long n) {
+    final int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+    buffer.position(buffer.position() + count);
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public synchronized void mark(int readLimit) {
+    buffer.mark();
+  }
+
+  @Override
+  public synchronized void reset() {
+    buffer.reset();
+  }
+}
@@ -0,0 +1,61 @@
+package me.cocoblue.passkeysample.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 크기의 Direct ByteBuffer 를 정해진 개수만 만들어 재사용하는 Pool
+ * Buffer 는 처음 필요할 때 만들며, 모두 사용 중이면 반납될 때까지 기다린다. (사용량이 Pool 크기를 넘지 않음)
+ * Direct Buffer 는 Heap 밖에 할당되므로, 큰 파일을 옮겨도 Heap 사용량이 늘어나지 않는다.
+ */
+public class DirectBufferPool {
+  private final int bufferSize;
+  private final int maxBuffers;
+  private final BlockingQueue<ByteBuffer> available = new LinkedBlockingQueue<>();
+  private final AtomicInteger created = new AtomicInteger();
+
+  public DirectBufferPool(int bufferSize, int maxBuffers) {
+    this.bufferSize = bufferSize;
+    this.maxBuffers = maxBuffers;
+  }
+
+  /**
+   * Buffer 를 빌리는 메서드. 반드시 release 로 반납해야 한다.
+   *
+   * @param timeoutMillis 모든 Buffer 가 사용 중일 때 기다리는 최대 시간 (밀리초)
+   * @return 비어있는 (position 0, limit = capacity) Buffer. 시간 안에 얻지 못하면 null
+   */
+  public ByteBuffer acquire(long timeoutMillis) throws InterruptedException {
+    final ByteBuffer pooled = available.poll();
+    if (pooled != null) {
+      return pooled.clear();
+    }
+
+    // 아직 최대 개수만큼 만들지 않았으면 새로 할당
+    int count;
+    while ((count = created.get()) < maxBuffers) {
+      if (created.compareAndSet(count, count + 1)) {
+        return ByteBuffer.allocateDirect(bufferSize);
+      }
+    }
+
+    final ByteBuffer waited = available.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    return waited == null ? null : waited.clear();
+  }
+
+  public void release(ByteBuffer buffer) {
+    available.offer(buffer);
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** 만들어진 Buffer 중 사용 중인 개수 */
+  public int inUse() {
+    return created.get() - available.size();
+  }
+}
@@ -6,6 +6,10 @@ import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageWriteParam;
@@ -15,13 +19,41 @@ import org.springframework.web.multipart.MultipartFile;
 
 public class ImageUtil {
 
-  // MultipartFile 처리 메서드
-  public static byte[] processImage(MultipartFile file,
-      int targetWidth,
-      int targetHeight) throws IOException {
-    BufferedImage original = ImageIO.read(file.getInputStream());
-    BufferedImage resized = resizeImage(original, targetWidth, targetHeight);
-    return convertToLosslessWebP(resized);
+  /**
+   * 이미지를 한 번만 Decode 하여, 여러 크기의 정사각형 WebP 썸네일을 만드는 메서드
+   * 큰 크기부터 만들고, 다음 크기는 원본 대신 바로 앞에서 만든 이미지를 줄여서 만든다.
+   *
+   * @param file  원본 이미지
+   * @param sizes 만들 썸네일의 한 변 길이 목록 (px)
+   * @return 크기별 Lossless WebP (큰 크기부터)
+   */
+  public static Map<Integer, byte[]> processImage(MultipartFile file, List<Integer> sizes)
+      throws IOException {
+    BufferedImage current = ImageIO.read(file.getInputStream());
+    if (current == null) {
+      throw new IOException("Unsupported image format");
+    }
+
+    Map<Integer, byte[]> thumbnails = new LinkedHashMap<>();
+    for (int size : sizes.stream().distinct().sorted(Comparator.reverseOrder()).toList()) {
+      current = scaleDown(current, size);
+      thumbnails.put(size, convertToLosslessWebP(current));
+    }
+    return thumbnails;
+  }
+
+  /**
+   * 한 번에 절반 이하로 줄이지 않고 단계적으로 줄이는 메서드
+   * Bilinear 보간은 한 번에 많이 줄이면 픽셀을 건너뛰어 계단 현상이 생기므로, 목표 크기까지 절반씩 줄인다.
+   */
+  private static BufferedImage scaleDown(BufferedImage image, int size) {
+    BufferedImage current = image;
+    while (current.getWidth() != size || current.getHeight() != size) {
+      int width = current.getWidth() > size ? Math.max(current.getWidth() / 2, size) : size;
+      int height = current.getHeight() > size ? Math.max(current.getHeight() / 2, size) : size;
+      current = resizeImage(current, width, height);
+    }
+    return current;
   }
 
   // 리사이징 메서드 (기존과 동일)
@@ -0,0 +1,47 @@
+package me.cocoblue.passkeysample.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 크기별 프로필 썸네일의 Key 규칙
+ * 가장 큰 썸네일은 users.profile_url 의 Key 그대로, 나머지는 뒤에 "_{크기}" 를 붙인 Key 로 저장한다.
+ * 만든 크기 목록은 users.profile_image_sizes 에 "64,128,256,512" 형식으로 저장하며,
+ * 값이 없으면 profile_url 한 장만 있는 (크기별 썸네일 이전의) 이미지이다.
+ */
+public class ProfileImageVariants {
+
+  public static String toColumn(Collection<Integer> sizes) {
+    return sizes.stream().distinct().sorted().map(String::valueOf).collect(Collectors.joining(","));
+  }
+
+  public static List<Integer> parse(String column) {
+    if (column == null || column.isBlank()) {
+      return List.of();
+    }
+    return Arrays.stream(column.split(","))
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .distinct()
+        .sorted()
+        .toList();
+  }
+
+  /**
+   * @param baseKey 가장 큰 썸네일의 Key (profile_url)
+   * @param sizes   만든 크기 목록
+   * @return 크기별 Key (작은 크기부터). 크기 목록이 비어있으면 빈 Map
+   */
+  public static Map<Integer, String> keys(String baseKey, Collection<Integer> sizes) {
+    final int largest = sizes.stream().mapToInt(Integer::intValue).max().orElse(0);
+    final Map<Integer, String> keys = new LinkedHashMap<>();
+    for (int size : sizes.stream().distinct().sorted().toList()) {
+      keys.put(size, size == largest ? baseKey : baseKey + "_" + size);
+    }
+    return keys;
+  }
+}
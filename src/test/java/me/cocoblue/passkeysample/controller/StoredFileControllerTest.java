@@ -0,0 +1,151 @@
+package me.cocoblue.passkeysample.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import me.cocoblue.passkeysample.storage.LocalFileStorageClient;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class StoredFileControllerTest {
+  private static final String KEY = "/profile/profile_test";
+  // 100 byte
+  private static final String CONTENT = "0123456789".repeat(10);
+
+  @TempDir
+  Path root;
+
+  private StoredFileController controller;
+
+  @BeforeEach
+  void setUp() {
+    final LocalFileStorageClient client = new LocalFileStorageClient(root, Runnable::run, Runnable::run);
+    client.putObject(KEY, ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.US_ASCII)),
+        "image/webp", false).join();
+    controller = new StoredFileController(client);
+  }
+
+  @Test
+  void servesWholeFile() throws Exception {
+    final MockHttpServletResponse response = serve(request());
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    assertThat(response.getContentType()).isEqualTo("image/webp");
+    assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+  }
+
+  @Test
+  void servesSingleRangeAsPartialContent() throws Exception {
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(206);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+    assertThat(response.getContentLengthLong()).isEqualTo(10);
+    assertThat(response.getContentAsString()).isEqualTo("0123456789");
+  }
+
+  @Test
+  void servesSuffixRange() throws Exception {
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.RANGE, "bytes=-5");
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(206);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 95-99/100");
+    assertThat(response.getContentAsString()).isEqualTo("56789");
+  }
+
+  @Test
+  void rejectsRangeStartingPastEndOfFile() throws Exception {
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.RANGE, "bytes=5000-");
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(416);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+    assertThat(response.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  void rejectsMalformedRange() throws Exception {
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.RANGE, "bytes=20-10");
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(416);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+  }
+
+  @Test
+  void ignoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"stale-etag\"");
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+    assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+  }
+
+  @Test
+  void appliesRangeWhenIfRangeMatches() throws Exception {
+    final String etag = serve(request()).getHeader(HttpHeaders.ETAG);
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.RANGE, "bytes=0-4");
+    request.addHeader(HttpHeaders.IF_RANGE, etag);
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(206);
+    assertThat(response.getContentAsString()).isEqualTo("01234");
+  }
+
+  @Test
+  void returnsNotModifiedForMatchingETag() throws Exception {
+    final String etag = serve(request()).getHeader(HttpHeaders.ETAG);
+    final MockHttpServletRequest request = request();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+    final MockHttpServletResponse response = serve(request);
+
+    assertThat(response.getStatus()).isEqualTo(304);
+    assertThat(response.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  void hidesAuthenticatedReadObjects() throws Exception {
+    final LocalFileStorageClient client = new LocalFileStorageClient(root, Runnable::run, Runnable::run);
+    client.putObject(KEY + "_original", ByteBuffer.wrap(new byte[] {1, 2, 3}),
+        "image/png", true).join();
+
+    final MockHttpServletResponse response = serve(
+        new MockHttpServletRequest("GET", StoredFileController.PATH_PREFIX + KEY + "_original"));
+
+    assertThat(response.getStatus()).isEqualTo(404);
+  }
+
+  private static MockHttpServletRequest request() {
+    return new MockHttpServletRequest("GET", StoredFileController.PATH_PREFIX + KEY);
+  }
+
+  private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    controller.serve(request, response);
+    return response;
+  }
+}
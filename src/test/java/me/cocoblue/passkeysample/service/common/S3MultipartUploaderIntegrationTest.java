@@ -0,0 +1,189 @@
+package me.cocoblue.passkeysample.service.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
+import com.amazonaws.services.s3.model.MultipartUpload;
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import me.cocoblue.passkeysample.storage.S3AsyncStorageClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * S3MultipartUploader 가 Part 업로드에 실패했을 때 Multipart Upload 를 Abort 하는지 MinIO 로 확인하는 통합 테스트
+ * Docker 를 사용할 수 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3MultipartUploaderIntegrationTest {
+  private static final String BUCKET = "passkey-sample-test";
+  private static final String REGION = "us-east-1";
+  private static final int PART_SIZE = 5 * 1024 * 1024;
+
+  @Container
+  private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-10-13T13-34-11Z");
+
+  // 결과 확인용 Client
+  private static AmazonS3 amazonS3;
+  private static S3AsyncClient s3AsyncClient;
+
+  @BeforeAll
+  static void setUp() {
+    amazonS3 = AmazonS3ClientBuilder.standard()
+        .withCredentials(new AWSStaticCredentialsProvider(
+            new BasicAWSCredentials(MINIO.getUserName(), MINIO.getPassword())))
+        .withEndpointConfiguration(new EndpointConfiguration(MINIO.getS3URL(), REGION))
+        .withPathStyleAccessEnabled(true)
+        .build();
+    amazonS3.createBucket(BUCKET);
+
+    s3AsyncClient = S3AsyncClient.builder()
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+        .endpointOverride(URI.create(MINIO.getS3URL()))
+        .region(Region.of(REGION))
+        .forcePathStyle(true)
+        .build();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    s3AsyncClient.close();
+    amazonS3.shutdown();
+  }
+
+  @Test
+  void uploadsInParts() throws Exception {
+    final S3MultipartUploader uploader = uploader(new S3AsyncStorageClient(s3AsyncClient, BUCKET));
+    final String key = "test/" + UUID.randomUUID();
+    final byte[] content = randomBytes(PART_SIZE * 2 + 1024);
+
+    uploader.upload(key, new ByteArrayInputStream(content), "application/octet-stream", false)
+        .get(30, TimeUnit.SECONDS);
+
+    assertThat(amazonS3.getObjectMetadata(BUCKET, key).getContentLength()).isEqualTo(content.length);
+    assertThat(pendingUploads(key)).isEmpty();
+  }
+
+  @Test
+  void abortsUploadWhenPartFails() throws Exception {
+    final FailingPartStorageClient client =
+        new FailingPartStorageClient(new S3AsyncStorageClient(s3AsyncClient, BUCKET), 2);
+    final S3MultipartUploader uploader = uploader(client);
+    final String key = "test/" + UUID.randomUUID();
+    final byte[] content = randomBytes(PART_SIZE * 2 + 1024);
+
+    // 실패한 Part 를 읽는 도중에 발견하면 upload 가, 다 읽은 뒤에 발견하면 반환된 Future 가 실패한다.
+    assertThatThrownBy(() -> uploader.upload(key, new ByteArrayInputStream(content),
+        "application/octet-stream", false).join())
+        .isInstanceOf(CompletionException.class);
+
+    assertThat(client.aborted.get(30, TimeUnit.SECONDS)).isNotBlank();
+    assertThat(pendingUploads(key)).isEmpty();
+    assertThat(amazonS3.doesObjectExist(BUCKET, key)).isFalse();
+  }
+
+  private static S3MultipartUploader uploader(ObjectStorageClient client) {
+    final S3MultipartUploader uploader = new S3MultipartUploader(client, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(uploader, "partSize", PART_SIZE);
+    ReflectionTestUtils.setField(uploader, "bufferCount", 2);
+    ReflectionTestUtils.setField(uploader, "bufferWaitTimeout", 30000L);
+    uploader.init();
+    return uploader;
+  }
+
+  private static List<String> pendingUploads(String key) {
+    return amazonS3.listMultipartUploads(new ListMultipartUploadsRequest(BUCKET).withPrefix(key))
+        .getMultipartUploads().stream()
+        .map(MultipartUpload::getUploadId)
+        .toList();
+  }
+
+  private static byte[] randomBytes(int size) {
+    final byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+
+  /**
+   * 지정한 번호의 Part 업로드만 실패시키고, Abort 된 Upload ID 를 기록하는 ObjectStorageClient
+   */
+  private static class FailingPartStorageClient implements ObjectStorageClient {
+    private final ObjectStorageClient delegate;
+    private final int failingPartNumber;
+    private final CompletableFuture<String> aborted = new CompletableFuture<>();
+
+    FailingPartStorageClient(ObjectStorageClient delegate, int failingPartNumber) {
+      this.delegate = delegate;
+      this.failingPartNumber = failingPartNumber;
+    }
+
+    @Override
+    public CompletableFuture<Void> putObject(String key, ByteBuffer content, String contentType,
+        boolean authenticatedRead) {
+      return delegate.putObject(key, content, contentType, authenticatedRead);
+    }
+
+    @Override
+    public CompletableFuture<String> createMultipartUpload(String key, String contentType,
+        boolean authenticatedRead) {
+      return delegate.createMultipartUpload(key, contentType, authenticatedRead);
+    }
+
+    @Override
+    public CompletableFuture<String> uploadPart(String key, String uploadId, int partNumber,
+        ByteBuffer content) {
+      if (partNumber == failingPartNumber) {
+        return CompletableFuture.failedFuture(new IllegalStateException("Part upload failed"));
+      }
+      return delegate.uploadPart(key, uploadId, partNumber, content);
+    }
+
+    @Override
+    public CompletableFuture<Void> completeMultipartUpload(String key, String uploadId,
+        List<String> partETags) {
+      return delegate.completeMultipartUpload(key, uploadId, partETags);
+    }
+
+    @Override
+    public CompletableFuture<Void> abortMultipartUpload(String key, String uploadId) {
+      return delegate.abortMultipartUpload(key, uploadId)
+          .whenComplete((done, failure) -> {
+            if (failure != null) {
+              aborted.completeExceptionally(failure);
+            } else {
+              aborted.complete(uploadId);
+            }
+          });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> deleteObjects(List<String> keys) {
+      return delegate.deleteObjects(keys);
+    }
+  }
+}
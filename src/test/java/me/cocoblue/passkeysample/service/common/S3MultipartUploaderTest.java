@@ -0,0 +1,155 @@
+package me.cocoblue.passkeysample.service.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import me.cocoblue.passkeysample.storage.ObjectStorageClient;
+import me.cocoblue.passkeysample.util.DirectBufferPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class S3MultipartUploaderTest {
+  private static final int PART_SIZE = 5 * 1024 * 1024;
+  private static final int BUFFER_COUNT = 2;
+
+  @Test
+  void releasesBufferWhenPutObjectIsRejected() throws Exception {
+    final FakeStorageClient client = new FakeStorageClient();
+    client.rejectRequests = true;
+    final S3MultipartUploader uploader = uploader(client);
+
+    // Buffer 가 반납되지 않으면 BUFFER_COUNT 번째 이후 요청은 Buffer 를 기다리다 IOException 으로 실패
+    for (int i = 0; i < BUFFER_COUNT + 1; i++) {
+      final CompletableFuture<Void> result = uploader.upload("small", new ByteArrayInputStream(new byte[1024]),
+          "image/webp", false);
+      assertThatThrownBy(result::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+    assertThat(bufferPool(uploader).inUse()).isZero();
+  }
+
+  @Test
+  void releasesBufferWhenCreateMultipartUploadIsRejected() throws Exception {
+    final FakeStorageClient client = new FakeStorageClient();
+    client.rejectRequests = true;
+    final S3MultipartUploader uploader = uploader(client);
+
+    for (int i = 0; i < BUFFER_COUNT + 1; i++) {
+      assertThatThrownBy(() -> uploader.upload("large", new ByteArrayInputStream(new byte[PART_SIZE + 1]),
+          "image/webp", false).join())
+          .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+    assertThat(bufferPool(uploader).inUse()).isZero();
+  }
+
+  @Test
+  void abortsUploadWhenPartFails() throws Exception {
+    final FakeStorageClient client = new FakeStorageClient();
+    client.failingPartNumber = 2;
+    final S3MultipartUploader uploader = uploader(client);
+
+    assertThatThrownBy(() -> uploader.upload("large", new ByteArrayInputStream(new byte[PART_SIZE * 2 + 1]),
+        "image/webp", false).join())
+        .isInstanceOf(CompletionException.class);
+
+    assertThat(client.aborted.get(5, TimeUnit.SECONDS)).isEqualTo("upload-1");
+    assertThat(client.completed).isFalse();
+    assertThat(bufferPool(uploader).inUse()).isZero();
+  }
+
+  @Test
+  void completesUploadWithPartsInOrder() throws Exception {
+    final FakeStorageClient client = new FakeStorageClient();
+    final S3MultipartUploader uploader = uploader(client);
+
+    uploader.upload("large", new ByteArrayInputStream(new byte[PART_SIZE * 2 + 1]), "image/webp", false)
+        .get(5, TimeUnit.SECONDS);
+
+    assertThat(client.completed).isTrue();
+    assertThat(client.completedETags).containsExactly("etag-1", "etag-2", "etag-3");
+    assertThat(client.aborted).isNotDone();
+    assertThat(bufferPool(uploader).inUse()).isZero();
+  }
+
+  private static S3MultipartUploader uploader(ObjectStorageClient client) {
+    final S3MultipartUploader uploader = new S3MultipartUploader(client, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(uploader, "partSize", PART_SIZE);
+    ReflectionTestUtils.setField(uploader, "bufferCount", BUFFER_COUNT);
+    ReflectionTestUtils.setField(uploader, "bufferWaitTimeout", 100L);
+    uploader.init();
+    return uploader;
+  }
+
+  private static DirectBufferPool bufferPool(S3MultipartUploader uploader) {
+    return (DirectBufferPool) ReflectionTestUtils.getField(uploader, "bufferPool");
+  }
+
+  /**
+   * 요청을 바로 완료하는 ObjectStorageClient
+   * rejectRequests 이면 Executor 가 작업을 거절한 것처럼 요청 시점에 예외를 던진다.
+   */
+  private static class FakeStorageClient implements ObjectStorageClient {
+    private boolean rejectRequests;
+    private int failingPartNumber;
+    private volatile boolean completed;
+    private final List<String> completedETags = Collections.synchronizedList(new ArrayList<>());
+    private final CompletableFuture<String> aborted = new CompletableFuture<>();
+
+    @Override
+    public CompletableFuture<Void> putObject(String key, ByteBuffer content, String contentType,
+        boolean authenticatedRead) {
+      rejectIfRequested();
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<String> createMultipartUpload(String key, String contentType,
+        boolean authenticatedRead) {
+      rejectIfRequested();
+      return CompletableFuture.completedFuture("upload-1");
+    }
+
+    @Override
+    public CompletableFuture<String> uploadPart(String key, String uploadId, int partNumber,
+        ByteBuffer content) {
+      if (partNumber == failingPartNumber) {
+        return CompletableFuture.failedFuture(new IllegalStateException("Part upload failed"));
+      }
+      return CompletableFuture.completedFuture("etag-" + partNumber);
+    }
+
+    @Override
+    public CompletableFuture<Void> completeMultipartUpload(String key, String uploadId,
+        List<String> partETags) {
+      completedETags.addAll(partETags);
+      completed = true;
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> abortMultipartUpload(String key, String uploadId) {
+      aborted.complete(uploadId);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> deleteObjects(List<String> keys) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+
+    private void rejectIfRequested() {
+      if (rejectRequests) {
+        throw new RejectedExecutionException("Executor is full");
+      }
+    }
+  }
+}
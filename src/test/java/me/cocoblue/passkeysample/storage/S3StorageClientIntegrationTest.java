@@ -0,0 +1,183 @@
+package me.cocoblue.passkeysample.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
+import com.amazonaws.services.s3.model.MultipartUpload;
+import com.amazonaws.services.s3.model.S3Object;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * AmazonS3StorageClient 와 S3AsyncStorageClient 를 MinIO 에 실제로 요청하여 확인하는 통합 테스트
+ * Docker 를 사용할 수 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3StorageClientIntegrationTest {
+  private static final String BUCKET = "passkey-sample-test";
+  private static final String REGION = "us-east-1";
+  // S3 의 Part 최소 크기 (마지막 Part 제외)
+  private static final int PART_SIZE = 5 * 1024 * 1024;
+
+  @Container
+  private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-10-13T13-34-11Z");
+
+  // 결과 확인용 Client
+  private static AmazonS3 amazonS3;
+  private static S3AsyncClient s3AsyncClient;
+  private static ExecutorService executor;
+
+  @BeforeAll
+  static void setUp() {
+    amazonS3 = AmazonS3ClientBuilder.standard()
+        .withCredentials(new AWSStaticCredentialsProvider(
+            new BasicAWSCredentials(MINIO.getUserName(), MINIO.getPassword())))
+        .withEndpointConfiguration(new EndpointConfiguration(MINIO.getS3URL(), REGION))
+        .withPathStyleAccessEnabled(true)
+        .build();
+    amazonS3.createBucket(BUCKET);
+
+    s3AsyncClient = S3AsyncClient.builder()
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+        .endpointOverride(URI.create(MINIO.getS3URL()))
+        .region(Region.of(REGION))
+        .forcePathStyle(true)
+        .build();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    s3AsyncClient.close();
+    executor.shutdownNow();
+    amazonS3.shutdown();
+  }
+
+  static Stream<Named<ObjectStorageClient>> clients() {
+    return Stream.of(
+        Named.of("SDK_V1", new AmazonS3StorageClient(amazonS3, BUCKET, executor, executor)),
+        Named.of("ASYNC", new S3AsyncStorageClient(s3AsyncClient, BUCKET))
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("clients")
+  void putsObject(ObjectStorageClient client) throws Exception {
+    final String key = newKey();
+
+    client.putObject(key, ByteBuffer.wrap("hello".getBytes(StandardCharsets.UTF_8)), "text/plain", false)
+        .join();
+
+    try (S3Object object = amazonS3.getObject(BUCKET, key)) {
+      assertThat(object.getObjectMetadata().getContentType()).isEqualTo("text/plain");
+      assertThat(object.getObjectContent().readAllBytes()).isEqualTo("hello".getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("clients")
+  void completesMultipartUpload(ObjectStorageClient client) throws Exception {
+    final String key = newKey();
+    final byte[] first = randomBytes(PART_SIZE);
+    final byte[] last = randomBytes(1024);
+
+    final String uploadId = client.createMultipartUpload(key, "application/octet-stream", false).join();
+    final String firstETag = client.uploadPart(key, uploadId, 1, ByteBuffer.wrap(first)).join();
+    final String lastETag = client.uploadPart(key, uploadId, 2, ByteBuffer.wrap(last)).join();
+    client.completeMultipartUpload(key, uploadId, List.of(firstETag, lastETag)).join();
+
+    try (S3Object object = amazonS3.getObject(BUCKET, key)) {
+      final byte[] content = object.getObjectContent().readAllBytes();
+      assertThat(content).hasSize(first.length + last.length);
+      assertThat(ByteBuffer.wrap(content, 0, first.length)).isEqualTo(ByteBuffer.wrap(first));
+      assertThat(ByteBuffer.wrap(content, first.length, last.length)).isEqualTo(ByteBuffer.wrap(last));
+    }
+    assertThat(pendingUploads(key)).isEmpty();
+  }
+
+  @ParameterizedTest
+  @MethodSource("clients")
+  void abortsMultipartUpload(ObjectStorageClient client) {
+    final String key = newKey();
+
+    final String uploadId = client.createMultipartUpload(key, "application/octet-stream", false).join();
+    client.uploadPart(key, uploadId, 1, ByteBuffer.wrap(randomBytes(PART_SIZE))).join();
+    assertThat(pendingUploads(key)).containsExactly(uploadId);
+
+    client.abortMultipartUpload(key, uploadId).join();
+
+    assertThat(pendingUploads(key)).isEmpty();
+    assertThat(amazonS3.doesObjectExist(BUCKET, key)).isFalse();
+  }
+
+  @ParameterizedTest
+  @MethodSource("clients")
+  void deletesObjects(ObjectStorageClient client) {
+    final String first = newKey();
+    final String second = newKey();
+    amazonS3.putObject(BUCKET, first, "first");
+    amazonS3.putObject(BUCKET, second, "second");
+
+    final List<String> failedKeys = client.deleteObjects(List.of(first, second)).join();
+
+    assertThat(failedKeys).isEmpty();
+    assertThat(amazonS3.doesObjectExist(BUCKET, first)).isFalse();
+    assertThat(amazonS3.doesObjectExist(BUCKET, second)).isFalse();
+  }
+
+  @ParameterizedTest
+  @MethodSource("clients")
+  void returnsOnlyFailedKeysWhenDeleteObjectsPartiallyFails(ObjectStorageClient client) {
+    final String deleted = newKey();
+    amazonS3.putObject(BUCKET, deleted, "deleted");
+    // MinIO 는 ".." 경로가 들어간 Key 를 Object 이름으로 허용하지 않으므로, 이 Key 만 Error 로 응답한다.
+    final String invalid = "test/../" + UUID.randomUUID();
+
+    final List<String> failedKeys = client.deleteObjects(List.of(deleted, invalid)).join();
+
+    assertThat(failedKeys).containsExactly(invalid);
+    assertThat(amazonS3.doesObjectExist(BUCKET, deleted)).isFalse();
+  }
+
+  private static List<String> pendingUploads(String key) {
+    return amazonS3.listMultipartUploads(new ListMultipartUploadsRequest(BUCKET).withPrefix(key))
+        .getMultipartUploads().stream()
+        .map(MultipartUpload::getUploadId)
+        .toList();
+  }
+
+  private static String newKey() {
+    return "test/" + UUID.randomUUID();
+  }
+
+  private static byte[] randomBytes(int size) {
+    final byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+}